@@ -0,0 +1,47 @@
+package com.maybitssquid.holidays;
+
+import com.maybitssquid.holidays.us.Federal;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+/**
+ * Throughput of generating the Federal calendar over spans of years.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GenerationBenchmark {
+    @Param({"1", "100", "10000"})
+    public int years;
+
+    private final Federal federal = new Federal();
+    private final Function<IntStream, Stream<Event>> parallel = Holidays.parallel(
+            Federal.NEW_YEARS_DAY,
+            Federal.WASHINGTONS_BIRTHDAY,
+            Federal.MEMORIAL_DAY,
+            Federal.JUNETEENTH,
+            Federal.INDEPENDENCE_DAY,
+            Federal.LABOR_DAY,
+            Federal.COLUMBUS_DAY,
+            Federal.VETERANS_DAY,
+            Federal.THANKSGIVING_DAY,
+            Federal.CHRISTMAS_DAY);
+
+    @Benchmark
+    public void federal(final Blackhole bh) {
+        federal.apply(IntStream.range(1900, 1900 + years)).forEach(bh::consume);
+    }
+
+    @Benchmark
+    public void parallel(final Blackhole bh) {
+        parallel.apply(IntStream.range(1900, 1900 + years)).forEach(bh::consume);
+    }
+}
@@ -0,0 +1,58 @@
+package com.maybitssquid.holidays;
+
+import com.maybitssquid.holidays.us.Federal;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.IntStream;
+
+/**
+ * Cost of the {@link Holidays} helpers used with {@link java.util.stream.Stream#mapMulti}, over a century of the
+ * Federal calendar.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class HolidaysBenchmark {
+    private static final Function<Event, Optional<Event>> OBSERVED =
+            Observances.weekendToWeekday(Observances.OBSERVED_ANNOTATION);
+
+    private final Federal federal = new Federal();
+    private final BiConsumer<Event, Consumer<Event>> either = Holidays.either(OBSERVED);
+    private final BiConsumer<Event, Consumer<Event>> replace =
+            Holidays.replace(OBSERVED, Observances.related("Eve", -1L));
+    private final BiConsumer<Event, Consumer<Event>> additions =
+            Holidays.additions(OBSERVED, Observances.related("Eve", -1L));
+
+    private void run(final BiConsumer<Event, Consumer<Event>> mapper, final Blackhole bh) {
+        federal.apply(IntStream.range(1900, 2000)).<Event>mapMulti(mapper).forEach(bh::consume);
+    }
+
+    @Benchmark
+    public void baseline(final Blackhole bh) {
+        federal.apply(IntStream.range(1900, 2000)).forEach(bh::consume);
+    }
+
+    @Benchmark
+    public void either(final Blackhole bh) {
+        run(either, bh);
+    }
+
+    @Benchmark
+    public void replace(final Blackhole bh) {
+        run(replace, bh);
+    }
+
+    @Benchmark
+    public void additions(final Blackhole bh) {
+        run(additions, bh);
+    }
+}
@@ -0,0 +1,76 @@
+package com.maybitssquid.holidays;
+
+import com.maybitssquid.holidays.us.Federal;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+/**
+ * Composed rules evaluated through {@link Holidays#generator} against the same rules compiled into a {@link Plan},
+ * over a century. Under the GC profiler, planEvaluate and epochDay should allocate close to nothing per operation,
+ * since observed names are derived once per rule and neither creates events.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PlanBenchmark {
+    private static final Yearly[] RULES = {
+            Federal.NEW_YEARS_DAY.with(Observances.weekendToWeekday(Observances.OBSERVED_ANNOTATION)),
+            Federal.WASHINGTONS_BIRTHDAY,
+            Federal.MEMORIAL_DAY,
+            Federal.JUNETEENTH.with(Observances.weekendToWeekday(Observances.OBSERVED_ANNOTATION)),
+            Federal.INDEPENDENCE_DAY.with(Observances.weekendToWeekday(Observances.OBSERVED_ANNOTATION)),
+            Federal.LABOR_DAY,
+            Federal.COLUMBUS_DAY,
+            Federal.VETERANS_DAY.with(Observances.weekendToWeekday(Observances.OBSERVED_ANNOTATION)),
+            Federal.THANKSGIVING_DAY,
+            Federal.THANKSGIVING_DAY.with(Observances.related("Day after Thanksgiving", 1L)),
+            Federal.CHRISTMAS_DAY
+                    .with(Observances.nthWeekday(LocalDate.of(3000, 1, 1), 1, DayOfWeek.MONDAY))
+                    .with(Observances.weekendToWeekday(Observances.OBSERVED_ANNOTATION))
+    };
+
+    private final Events generator = Holidays.generator(RULES);
+    private final Plan plan = Plan.compile(RULES);
+    private final long[] days = new long[plan.size()];
+    private final String[] names = new String[plan.size()];
+
+    @Benchmark
+    public void generator(final Blackhole bh) {
+        generator.apply(IntStream.range(1900, 2000)).forEach(bh::consume);
+    }
+
+    @Benchmark
+    public void plan(final Blackhole bh) {
+        plan.apply(IntStream.range(1900, 2000)).forEach(bh::consume);
+    }
+
+    @Benchmark
+    public void planEvaluate(final Blackhole bh) {
+        for (int year = 1900; year < 2000; year++) {
+            final int count = plan.evaluate(year, days, names);
+            for (int i = 0; i < count; i++) {
+                bh.consume(days[i]);
+                bh.consume(names[i]);
+            }
+        }
+    }
+
+    @Benchmark
+    public long epochDay() {
+        long sum = 0L;
+        for (int year = 1900; year < 2000; year++) {
+            for (Yearly rule : RULES) {
+                sum += rule.epochDay(year);
+            }
+        }
+        return sum;
+    }
+}
@@ -0,0 +1,106 @@
+package com.maybitssquid.holidays;
+
+import com.maybitssquid.holidays.us.Federal;
+import com.maybitssquid.holidays.us.US;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.Month;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+/**
+ * Cost of evaluating each kind of {@link Yearly} rule for a single year.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class YearlyBenchmark {
+    private final Yearly everyYear = new EveryYear("New Year's Day", Month.JANUARY, 1);
+    private final Yearly anniversary = Federal.INDEPENDENCE_DAY;
+    private final Yearly floating = Federal.THANKSGIVING_DAY;
+    private final Yearly easter = new Easter("Good Friday", -2L);
+    private final Yearly composed = new Anniversary(US.CHRISTMAS_DAY)
+            .with(Observances.related("Boxing Day", 1L))
+            .with(Observances.weekendToWeekday(Observances.OBSERVED_ANNOTATION));
+
+    private final int[] years = IntStream.rangeClosed(1900, 2100).toArray();
+    private final long[] days = new long[years.length];
+
+    private int year = 1900;
+
+    /**
+     * Cycles through years so that the result is not constant.
+     */
+    private int nextYear() {
+        year = year == 2100 ? 1900 : year + 1;
+        return year;
+    }
+
+    @Benchmark
+    public Optional<Event> everyYear() {
+        return everyYear.apply(nextYear());
+    }
+
+    @Benchmark
+    public Optional<Event> anniversary() {
+        return anniversary.apply(nextYear());
+    }
+
+    @Benchmark
+    public Optional<Event> floating() {
+        return floating.apply(nextYear());
+    }
+
+    @Benchmark
+    public Optional<Event> easter() {
+        return easter.apply(nextYear());
+    }
+
+    @Benchmark
+    public Optional<Event> composed() {
+        return composed.apply(nextYear());
+    }
+
+    @Benchmark
+    public long everyYearEpochDay() {
+        return everyYear.epochDay(nextYear());
+    }
+
+    @Benchmark
+    public long anniversaryEpochDay() {
+        return anniversary.epochDay(nextYear());
+    }
+
+    @Benchmark
+    public long floatingEpochDay() {
+        return floating.epochDay(nextYear());
+    }
+
+    @Benchmark
+    public long easterEpochDay() {
+        return easter.epochDay(nextYear());
+    }
+
+    @Benchmark
+    public long composedEpochDay() {
+        return composed.epochDay(nextYear());
+    }
+
+    @Benchmark
+    public long[] floatingEachYear() {
+        for (int i = 0; i < years.length; i++) {
+            days[i] = floating.epochDay(years[i]);
+        }
+        return days;
+    }
+
+    @Benchmark
+    public long[] floatingEpochDays() {
+        floating.epochDays(years, days);
+        return days;
+    }
+}
@@ -8,19 +8,30 @@ public class Anniversary implements Yearly {
     private final Event event;
     private final String observedAs;
     private final LocalDate first;
+    private final long firstDay;
+    private final long lastDay;
+    private final boolean arithmetic;
 
     /**
      * Utility constructor that has sensible defaults for null parameters.
      * @param event event this is the anniversary of (mandatory).
      * @param observedAs format for anniversary events, defaulting to the name of the original event. This parameter may
-     *               include $s as a placeholder for the name of the original event.
+     *               include %s as a placeholder for the name of the original event.
      * @param first first date the anniversary is observed, defaulting to the date of the original even.
+     * @param last last date the anniversary is observed, defaulting to no end.
      */
-    public Anniversary(final Event event, final String observedAs, final LocalDate first) {
+    public Anniversary(final Event event, final String observedAs, final LocalDate first, final LocalDate last) {
         if (event == null) throw new AssertionError("Missing original event for anniversary");
         this.event = event;
         this.observedAs = observedAs == null ? event.name() : String.format(observedAs, event.name());
         this.first = first == null ? event.date() : first;
+        this.firstDay = this.first.toEpochDay();
+        this.lastDay = last == null ? Long.MAX_VALUE : last.toEpochDay();
+        this.arithmetic = getClass() == Anniversary.class || getClass() == Floating.class;
+    }
+
+    public Anniversary(final Event event, final String observedAs, final LocalDate first) {
+        this(event, observedAs, first, null);
     }
 
     public Anniversary(final Event event, final LocalDate first) {
@@ -39,21 +50,97 @@ public class Anniversary implements Yearly {
         return this.event;
     }
 
+    String getObservedAs() {
+        return observedAs;
+    }
+
+    long getFirstDay() {
+        return firstDay;
+    }
+
+    long getLastDay() {
+        return lastDay;
+    }
+
     public LocalDate compute(final int year) {
         return event.date().withYear(year);
     }
 
+    /**
+     * Primitive form of {@link #compute(int)}, only used by this class and {@link Floating}. A subclass may override
+     * {@link #compute(int)}, so its events are computed from that instead.
+     *
+     * @param year the year to generate the event for, which must be a valid year.
+     * @return the epoch day the event falls on for the given year, which may be outside the supported dates.
+     */
+    long computeEpochDay(final int year) {
+        return Dates.anniversary(year, event.date().getMonthValue(), event.date().getDayOfMonth());
+    }
+
+    /**
+     * Bulk form of {@link #computeEpochDay(int)}, evaluating all the years in one loop.
+     *
+     * @param years the years to generate the event for. The days computed for invalid years are ignored.
+     * @param days  receives the epoch day the event falls on for each year.
+     */
+    void computeEpochDays(final int[] years, final long[] days) {
+        final int month = event.date().getMonthValue();
+        final int dayOfMonth = event.date().getDayOfMonth();
+        for (int i = 0; i < years.length; i++) {
+            days[i] = Dates.anniversary(years[i], month, dayOfMonth);
+        }
+    }
+
+    /**
+     * Computes the day arithmetically for this class and {@link Floating}, and from {@link #compute(int)} for any
+     * other subclass.
+     * @param year {@inheritDoc}
+     * @return {@inheritDoc}
+     */
     @Override
-    public Optional<Event> apply(final int year) {
-        try {
-            LocalDate observed = compute(year);
-            if (observed.isBefore(first)) {
-                return Optional.empty();
-            } else {
-                return Optional.of(new Event(observed, observedAs));
+    public long epochDay(final int year) {
+        if (!Dates.isValidYear(year)) return NONE;
+        final long observed;
+        if (arithmetic) {
+            observed = computeEpochDay(year);
+        } else {
+            try {
+                observed = compute(year).toEpochDay();
+            } catch (final DateTimeException e) {
+                return NONE;
+            }
+        }
+        return observed < firstDay || observed > lastDay || !Dates.isValidEpochDay(observed) ? NONE : observed;
+    }
+
+    @Override
+    public void epochDays(final int[] years, final long[] days) {
+        if (!arithmetic) {
+            Yearly.super.epochDays(years, days);
+            return;
+        }
+        computeEpochDays(years, days);
+        for (int i = 0; i < years.length; i++) {
+            if (!Dates.isValidYear(years[i]) || days[i] < firstDay || days[i] > lastDay
+                    || !Dates.isValidEpochDay(days[i])) {
+                days[i] = NONE;
             }
-        } catch (final DateTimeException e) {
-            return Optional.empty();
         }
     }
+
+    /**
+     * The month of the original event. A subclass may override {@link #compute(int)} to move the event to any month,
+     * so has {@link #ALL_MONTHS}.
+     * @return {@inheritDoc}
+     */
+    @Override
+    public int months() {
+        return arithmetic ? 1 << (event.date().getMonthValue() - 1) : ALL_MONTHS;
+    }
+
+    @Override
+    public Optional<Event> apply(final int year) {
+        final long observed = epochDay(year);
+        return observed == NONE ? Optional.empty() : Optional.of(new Event(LocalDate.ofEpochDay(observed), observedAs));
+    }
 }
@@ -0,0 +1,208 @@
+package com.maybitssquid.holidays;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.function.IntToLongFunction;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+/**
+ * Labels columns of days with holiday flags and name ids. A range of years is compiled into a column holding the id of
+ * the name of the event on each day, so labelling a day in the range is a single array read. Days outside the range
+ * are labelled from the events of their year, generated once per year for each part of the column. Columns of at
+ * least {@link #PARALLEL_ROWS} days are split into parts labelled on the common fork-join pool.
+ * <p>
+ * Where several events fall on one day, the day is labelled with the first name in order.
+ */
+public final class Annotator {
+    /**
+     * Name id for a day with no event.
+     */
+    public static final int NONE = -1;
+
+    /**
+     * Smallest column labelled in parallel.
+     */
+    public static final int PARALLEL_ROWS = 1 << 16;
+
+    /**
+     * Rows in each part of a column labelled in parallel, a multiple of 64 so that parts never share a word of a
+     * {@link BitSet}.
+     */
+    private static final int PART_ROWS = 1 << 14;
+
+    private final Function<IntStream, Stream<Event>> events;
+    private final long firstDay;
+    private final long lastDay;
+    private final int[] compiled;
+    private final ConcurrentHashMap<String, Integer> ids = new ConcurrentHashMap<>();
+    private volatile String[] names;
+
+    /**
+     * Compiles the events for a range of years, including events generated for the years either side of the range
+     * that fall within it.
+     *
+     * @param events    generator for the events.
+     * @param firstYear first year of the range, inclusive.
+     * @param lastYear  last year of the range, inclusive.
+     */
+    public Annotator(final Function<IntStream, Stream<Event>> events, final int firstYear, final int lastYear) {
+        if (events == null) throw new IllegalArgumentException("Missing events to annotate with");
+        if (lastYear < firstYear) throw new IllegalArgumentException("Last year is before first year");
+        this.events = events;
+        this.firstDay = LocalDate.of(firstYear, 1, 1).toEpochDay();
+        this.lastDay = LocalDate.of(lastYear, 12, 31).toEpochDay();
+        this.compiled = new int[Math.toIntExact(lastDay - firstDay + 1)];
+        this.names = new String[0];
+        Arrays.fill(compiled, NONE);
+        events.apply(IntStream.rangeClosed(firstYear - 1, lastYear + 1)).forEach(e -> {
+            final long day = e.date().toEpochDay();
+            if (day >= firstDay && day <= lastDay) {
+                final int offset = (int) (day - firstDay);
+                final int existing = compiled[offset];
+                if (existing == NONE || names[existing].compareTo(e.name()) > 0) {
+                    compiled[offset] = intern(e.name());
+                }
+            }
+        });
+    }
+
+    /**
+     * The names labelled so far, indexed by name id. Names are only added, so ids never change.
+     *
+     * @return a copy of the names.
+     */
+    public String[] names() {
+        return names.clone();
+    }
+
+    /**
+     * @param id a name id.
+     * @return the name, or null for {@link #NONE}.
+     */
+    public String name(final int id) {
+        return id == NONE ? null : names[id];
+    }
+
+    /**
+     * Labels epoch days.
+     *
+     * @param days  the epoch days to label.
+     * @param flags receives whether each day is a holiday, unless null.
+     * @param ids   receives the name id of each day or {@link #NONE}, unless null.
+     */
+    public void annotate(final long[] days, final boolean[] flags, final int[] ids) {
+        annotate(days.length, i -> days[i], flags, null, ids);
+    }
+
+    /**
+     * Labels epoch days.
+     *
+     * @param days  the epoch days to label.
+     * @param flags receives whether each day is a holiday, unless null.
+     * @param ids   receives the name id of each day or {@link #NONE}, unless null.
+     */
+    public void annotate(final int[] days, final boolean[] flags, final int[] ids) {
+        annotate(days.length, i -> days[i], flags, null, ids);
+    }
+
+    /**
+     * Labels dates.
+     *
+     * @param dates the dates to label.
+     * @param flags receives whether each date is a holiday, unless null.
+     * @param ids   receives the name id of each date or {@link #NONE}, unless null.
+     */
+    public void annotate(final LocalDate[] dates, final boolean[] flags, final int[] ids) {
+        annotate(dates.length, i -> dates[i].toEpochDay(), flags, null, ids);
+    }
+
+    /**
+     * Flags epoch days.
+     *
+     * @param days the epoch days to label.
+     * @return the positions of the days that are holidays.
+     */
+    public BitSet flags(final long[] days) {
+        final long[] words = new long[(days.length + 63) >>> 6];
+        annotate(days.length, i -> days[i], null, words, null);
+        return BitSet.valueOf(words);
+    }
+
+    /**
+     * Flags epoch days.
+     *
+     * @param days the epoch days to label.
+     * @return the positions of the days that are holidays.
+     */
+    public BitSet flags(final int[] days) {
+        final long[] words = new long[(days.length + 63) >>> 6];
+        annotate(days.length, i -> days[i], null, words, null);
+        return BitSet.valueOf(words);
+    }
+
+    private void annotate(final int rows, final IntToLongFunction day,
+                          final boolean[] flags, final long[] words, final int[] ids) {
+        if (rows < PARALLEL_ROWS) {
+            annotate(0, rows, day, flags, words, ids);
+        } else {
+            IntStream.range(0, (rows + PART_ROWS - 1) / PART_ROWS).parallel().forEach(part ->
+                    annotate(part * PART_ROWS, Math.min(rows, (part + 1) * PART_ROWS), day, flags, words, ids));
+        }
+    }
+
+    private void annotate(final int from, final int to, final IntToLongFunction day,
+                          final boolean[] flags, final long[] words, final int[] ids) {
+        Map<Integer, EventTable> years = null;
+        int lastYear = 0;
+        EventTable table = null;
+        for (int i = from; i < to; i++) {
+            final long d = day.applyAsLong(i);
+            final int id;
+            if (d >= firstDay && d <= lastDay) {
+                id = compiled[(int) (d - firstDay)];
+            } else {
+                final int year = Dates.year(Dates.civil(d));
+                if (table == null || year != lastYear) {
+                    // Runs of days in one year only look up the year once, without boxing it
+                    if (years == null) years = new HashMap<>();
+                    table = years.computeIfAbsent(year, this::year);
+                    lastYear = year;
+                }
+                final int found = table.search(d);
+                id = found < table.size() && table.epochDay(found) == d ? intern(table.name(found)) : NONE;
+            }
+            if (flags != null) flags[i] = id != NONE;
+            if (words != null && id != NONE) words[i >>> 6] |= 1L << i;
+            if (ids != null) ids[i] = id;
+        }
+    }
+
+    /**
+     * The events that fall in a year, wherever they were generated.
+     */
+    private EventTable year(final int year) {
+        return EventTable.of(events.apply(IntStream.rangeClosed(year - 1, year + 1))
+                .filter(e -> e.date().getYear() == year)
+                .toArray(Event[]::new));
+    }
+
+    private int intern(final String name) {
+        final Integer id = ids.get(name);
+        if (id != null) return id;
+        synchronized (ids) {
+            final Integer existing = ids.get(name);
+            if (existing != null) return existing;
+            final String[] grown = Arrays.copyOf(names, names.length + 1);
+            grown[names.length] = name;
+            names = grown;
+            ids.put(name, grown.length - 1);
+            return grown.length - 1;
+        }
+    }
+}
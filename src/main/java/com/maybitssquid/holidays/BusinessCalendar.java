@@ -0,0 +1,196 @@
+package com.maybitssquid.holidays;
+
+import java.time.DateTimeException;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+/**
+ * Business day arithmetic over the range of years covered by a {@link HolidayIndex}. A business day is a day that is
+ * neither a holiday nor a weekend day. Business days are kept as a bitmap with a running count of the business days
+ * before each 64 day word, so counting is a table lookup plus a popcount, and offsetting by any number of business
+ * days is a binary search of the counts.
+ */
+public class BusinessCalendar {
+    /**
+     * Weekend of Saturday and Sunday.
+     */
+    public static final Set<DayOfWeek> SATURDAY_SUNDAY =
+            Collections.unmodifiableSet(EnumSet.of(DayOfWeek.SATURDAY, DayOfWeek.SUNDAY));
+
+    private final long firstDay;
+    private final long lastDay;
+    private final long[] business;
+    private final int[] before;
+
+    /**
+     * Builds the business days from compiled holidays.
+     *
+     * @param holidays the compiled holidays.
+     * @param weekend  the days of the week that are never business days.
+     */
+    public BusinessCalendar(final HolidayIndex holidays, final Set<DayOfWeek> weekend) {
+        if (holidays == null) throw new IllegalArgumentException("Missing holidays for business calendar");
+        final boolean[] closed = new boolean[7];
+        for (DayOfWeek d : weekend) {
+            closed[d.ordinal()] = true;
+        }
+        this.firstDay = holidays.getFirstDay();
+        this.lastDay = holidays.getLastDay();
+        final long[] words = holidays.words();
+        this.business = new long[words.length];
+        this.before = new int[words.length + 1];
+        for (long day = firstDay; day <= lastDay; day++) {
+            final long offset = day - firstDay;
+            if (!closed[dayOfWeek(day)]) {
+                business[(int) (offset >>> 6)] |= 1L << offset;
+            }
+        }
+        for (int w = 0; w < words.length; w++) {
+            business[w] &= ~words[w];
+            before[w + 1] = before[w] + Long.bitCount(business[w]);
+        }
+    }
+
+    /**
+     * Builds the business days for a range of years.
+     *
+     * @param events    generator for the holidays.
+     * @param weekend   the days of the week that are never business days.
+     * @param firstYear first year of the range, inclusive.
+     * @param lastYear  last year of the range, inclusive.
+     */
+    public BusinessCalendar(final Function<IntStream, Stream<Event>> events, final Set<DayOfWeek> weekend,
+                            final int firstYear, final int lastYear) {
+        this(new HolidayIndex(events, firstYear, lastYear), weekend);
+    }
+
+    /**
+     * Builds the business days for a range of years with a Saturday and Sunday weekend.
+     *
+     * @param events    generator for the holidays.
+     * @param firstYear first year of the range, inclusive.
+     * @param lastYear  last year of the range, inclusive.
+     */
+    public BusinessCalendar(final Function<IntStream, Stream<Event>> events, final int firstYear, final int lastYear) {
+        this(events, SATURDAY_SUNDAY, firstYear, lastYear);
+    }
+
+    /**
+     * Whether the date is a business day.
+     *
+     * @param date the date to check.
+     * @return whether the date is neither a holiday nor a weekend day.
+     * @throws DateTimeException if the date is outside the range of the calendar.
+     */
+    public boolean isBusinessDay(final LocalDate date) {
+        final long offset = check(date.toEpochDay()) - firstDay;
+        return (business[(int) (offset >>> 6)] & (1L << offset)) != 0L;
+    }
+
+    /**
+     * Adds business days to a date. Adding zero days returns the date itself, even if it is not a business day.
+     *
+     * @param date the date to start from.
+     * @param days the number of business days to add, which may be negative.
+     * @return the date that is the given number of business days after the start.
+     * @throws DateTimeException if either date is outside the range of the calendar.
+     */
+    public LocalDate plusBusinessDays(final LocalDate date, final long days) {
+        if (days == 0L) return date;
+        final long day = check(date.toEpochDay());
+        final long target = days > 0L ? rank(day + 1) + days - 1 : rank(day) + days;
+        return LocalDate.ofEpochDay(select(target));
+    }
+
+    /**
+     * Subtracts business days from a date.
+     *
+     * @param date the date to start from.
+     * @param days the number of business days to subtract, which may be negative.
+     * @return the date that is the given number of business days before the start.
+     * @throws DateTimeException if either date is outside the range of the calendar.
+     * @see #plusBusinessDays(LocalDate, long)
+     */
+    public LocalDate minusBusinessDays(final LocalDate date, final long days) {
+        return plusBusinessDays(date, -days);
+    }
+
+    /**
+     * The first business day after a date.
+     *
+     * @param date the date to start from.
+     * @return the first business day strictly after the date.
+     * @throws DateTimeException if either date is outside the range of the calendar.
+     */
+    public LocalDate nextBusinessDay(final LocalDate date) {
+        return plusBusinessDays(date, 1L);
+    }
+
+    /**
+     * Counts the business days from one date up to, but not including, another.
+     *
+     * @param from        the first date, inclusive.
+     * @param toExclusive the last date, exclusive.
+     * @return the number of business days, negative if {@code toExclusive} is before {@code from}.
+     * @throws DateTimeException if either date is outside the range of the calendar.
+     */
+    public long businessDaysBetween(final LocalDate from, final LocalDate toExclusive) {
+        final long start = from.toEpochDay();
+        final long end = toExclusive.toEpochDay();
+        return rank(end == lastDay + 1 ? end : check(end)) - rank(check(start));
+    }
+
+    /**
+     * Counts the business days in the calendar before the day.
+     */
+    private long rank(final long day) {
+        final long offset = day - firstDay;
+        final int w = (int) (offset >>> 6);
+        if (w == business.length) return before[w];
+        return before[w] + Long.bitCount(business[w] & ((1L << offset) - 1L));
+    }
+
+    /**
+     * Finds the business day that has {@code rank} business days before it in the calendar.
+     */
+    private long select(final long rank) {
+        if (rank < 0L || rank >= before[business.length]) {
+            throw new DateTimeException("Business day is outside the calendar range");
+        }
+        int low = 0;
+        int high = business.length - 1;
+        while (low < high) {
+            final int mid = (low + high + 1) >>> 1;
+            if (before[mid] <= rank) {
+                low = mid;
+            } else {
+                high = mid - 1;
+            }
+        }
+        long word = business[low];
+        for (long skip = rank - before[low]; skip > 0L; skip--) {
+            word &= word - 1L;
+        }
+        return firstDay + ((long) low << 6) + Long.numberOfTrailingZeros(word);
+    }
+
+    private long check(final long day) {
+        if (day < firstDay || day > lastDay) {
+            throw new DateTimeException("Date is outside the calendar range: " + LocalDate.ofEpochDay(day));
+        }
+        return day;
+    }
+
+    /**
+     * Day of the week, with Monday as zero to match {@link DayOfWeek#ordinal()}.
+     */
+    private static int dayOfWeek(final long epochDay) {
+        return (int) Math.floorMod(epochDay + 3L, 7L);
+    }
+}
@@ -0,0 +1,9 @@
+package com.maybitssquid.holidays;
+
+/**
+ * Event tagged with the name of the calendar that generated it.
+ *
+ * @see Calendars
+ */
+public record CalendarEvent(String calendar, Event event) {
+}
@@ -0,0 +1,280 @@
+package com.maybitssquid.holidays;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+/**
+ * Compiled events in a compact binary format that is read in place, typically from a memory mapped file. Lookups
+ * binary search the buffer directly, so opening a file does no more than check its header.
+ * <p>
+ * The format is big-endian:
+ * <pre>
+ *   int     magic, "HOLI"
+ *   int     version
+ *   int     first year
+ *   int     last year
+ *   int     number of events, n
+ *   int     number of names, m
+ *   int[n]  epoch days of the events, sorted by date and then name
+ *   int[n]  name index of each event
+ *   int[m+1] offset of each name within the name bytes, followed by their total length
+ *   byte[]  names, UTF-8
+ * </pre>
+ * Each distinct name is stored once, however many years it recurs in.
+ */
+public class CalendarFile implements Events {
+    static final int MAGIC = 0x484F4C49;
+    static final int VERSION = 1;
+    private static final int HEADER = 24;
+
+    private final ByteBuffer buffer;
+    private final int firstYear;
+    private final int lastYear;
+    private final int size;
+    private final int names;
+    private final int daysAt;
+    private final int idsAt;
+    private final int offsetsAt;
+    private final int bytesAt;
+    private final String[] decoded;
+
+    /**
+     * Reads compiled events from a buffer, from its position to its limit. The buffer is not copied, so it must not
+     * be modified while in use.
+     *
+     * @param buffer the encoded events.
+     * @throws IOException if the buffer does not hold a supported version of the format.
+     */
+    public CalendarFile(final ByteBuffer buffer) throws IOException {
+        this.buffer = buffer.slice();
+        if (this.buffer.remaining() < HEADER || this.buffer.getInt(0) != MAGIC) {
+            throw new IOException("Not a calendar file");
+        }
+        if (this.buffer.getInt(4) != VERSION) {
+            throw new IOException("Unsupported calendar file version " + this.buffer.getInt(4));
+        }
+        this.firstYear = this.buffer.getInt(8);
+        this.lastYear = this.buffer.getInt(12);
+        this.size = this.buffer.getInt(16);
+        this.names = this.buffer.getInt(20);
+        this.daysAt = HEADER;
+        this.idsAt = daysAt + 4 * size;
+        this.offsetsAt = idsAt + 4 * size;
+        this.bytesAt = offsetsAt + 4 * (names + 1);
+        if (size < 0 || names < 0 || bytesAt > this.buffer.limit()
+                || bytesAt + this.buffer.getInt(offsetsAt + 4 * names) > this.buffer.limit()) {
+            throw new IOException("Truncated calendar file");
+        }
+        this.decoded = new String[names];
+    }
+
+    /**
+     * Maps a calendar file read only.
+     *
+     * @param path the file to map.
+     * @return the compiled events in the file.
+     * @throws IOException if the file cannot be mapped or is not a calendar file.
+     */
+    public static CalendarFile open(final Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            return new CalendarFile(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+        }
+    }
+
+    /**
+     * Compiles the events for a range of years into a file. Events are also generated for the years either side of
+     * the range, so that an event generated for one year but falling in another is kept with the year it falls in.
+     *
+     * @param events    generator for the events.
+     * @param firstYear first year of the range, inclusive.
+     * @param lastYear  last year of the range, inclusive.
+     * @param path      the file to write.
+     * @throws IOException if the file cannot be written.
+     */
+    public static void write(final Function<IntStream, Stream<Event>> events, final int firstYear,
+                             final int lastYear, final Path path) throws IOException {
+        final ByteBuffer encoded = encode(events, firstYear, lastYear);
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            while (encoded.hasRemaining()) {
+                channel.write(encoded);
+            }
+        }
+    }
+
+    /**
+     * Compiles the events that fall in a range of years. Events are also generated for the years either side of the
+     * range, so that an event generated for one year but falling in another, such as a holiday observed on the last
+     * day of the previous year, is kept with the year it falls in.
+     *
+     * @param events    generator for the events.
+     * @param firstYear first year of the range, inclusive.
+     * @param lastYear  last year of the range, inclusive.
+     * @return buffer holding the encoded events, positioned at the start.
+     */
+    public static ByteBuffer encode(final Function<IntStream, Stream<Event>> events, final int firstYear,
+                                    final int lastYear) {
+        if (lastYear < firstYear) throw new IllegalArgumentException("Last year is before first year");
+        final long firstDay = LocalDate.of(firstYear, 1, 1).toEpochDay();
+        final long lastDay = LocalDate.of(lastYear, 12, 31).toEpochDay();
+        final Event[] sorted = events.apply(IntStream.rangeClosed(firstYear - 1, lastYear + 1))
+                .filter(e -> e.date().toEpochDay() >= firstDay && e.date().toEpochDay() <= lastDay)
+                .sorted(Event.getComparator())
+                .toArray(Event[]::new);
+        final Map<String, Integer> ids = new HashMap<>();
+        final List<byte[]> encodedNames = new ArrayList<>();
+        final int[] nameIds = new int[sorted.length];
+        int nameBytes = 0;
+        for (int i = 0; i < sorted.length; i++) {
+            final String name = sorted[i].name();
+            Integer id = ids.get(name);
+            if (id == null) {
+                id = encodedNames.size();
+                ids.put(name, id);
+                final byte[] bytes = name.getBytes(StandardCharsets.UTF_8);
+                encodedNames.add(bytes);
+                nameBytes += bytes.length;
+            }
+            nameIds[i] = id;
+        }
+        final ByteBuffer buffer = ByteBuffer.allocate(
+                HEADER + 8 * sorted.length + 4 * (encodedNames.size() + 1) + nameBytes);
+        buffer.putInt(MAGIC).putInt(VERSION).putInt(firstYear).putInt(lastYear)
+                .putInt(sorted.length).putInt(encodedNames.size());
+        for (Event e : sorted) {
+            buffer.putInt(Math.toIntExact(e.date().toEpochDay()));
+        }
+        for (int id : nameIds) {
+            buffer.putInt(id);
+        }
+        int offset = 0;
+        for (byte[] bytes : encodedNames) {
+            buffer.putInt(offset);
+            offset += bytes.length;
+        }
+        buffer.putInt(offset);
+        for (byte[] bytes : encodedNames) {
+            buffer.put(bytes);
+        }
+        return buffer.flip();
+    }
+
+    public int getFirstYear() {
+        return firstYear;
+    }
+
+    public int getLastYear() {
+        return lastYear;
+    }
+
+    /**
+     * @return the number of events in the file.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Whether at least one event falls on the date.
+     *
+     * @param date the date to check.
+     * @return whether the date is a holiday.
+     */
+    public boolean isHoliday(final LocalDate date) {
+        return isHoliday(date.toEpochDay());
+    }
+
+    /**
+     * Whether at least one event falls on the day.
+     *
+     * @param epochDay the day to check, counted from 1970-01-01.
+     * @return whether the day is a holiday.
+     */
+    public boolean isHoliday(final long epochDay) {
+        final int i = search(epochDay);
+        return i < size && day(i) == epochDay;
+    }
+
+    /**
+     * The event at an index.
+     *
+     * @param index the index of the event, in order of date and name.
+     * @return the event.
+     */
+    public Event event(final int index) {
+        return new Event(LocalDate.ofEpochDay(day(index)), name(buffer.getInt(idsAt + 4 * index)));
+    }
+
+    /**
+     * Events within the file that fall on or after the first date and before the second, in order.
+     * @param from {@inheritDoc}
+     * @param toExclusive {@inheritDoc}
+     * @return {@inheritDoc}
+     */
+    @Override
+    public Stream<Event> between(final LocalDate from, final LocalDate toExclusive) {
+        return IntStream.range(search(from.toEpochDay()), search(toExclusive.toEpochDay())).mapToObj(this::event);
+    }
+
+    /**
+     * Events within the file that fall in the given years. Years outside the compiled range have no events.
+     * @param years {@inheritDoc}
+     * @return {@inheritDoc}
+     */
+    @Override
+    public Stream<Event> apply(final IntStream years) {
+        return years.mapToObj(y -> between(LocalDate.of(y, 1, 1), LocalDate.of(y + 1, 1, 1)))
+                .flatMap(Function.identity());
+    }
+
+    /**
+     * The epoch day of the event at an index.
+     */
+    int day(final int index) {
+        return buffer.getInt(daysAt + 4 * index);
+    }
+
+    /**
+     * Index of the first event on or after the day.
+     */
+    int search(final long epochDay) {
+        int low = 0;
+        int high = size;
+        while (low < high) {
+            final int mid = (low + high) >>> 1;
+            if (day(mid) < epochDay) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * Decodes a name the first time it is used. Racing threads may each decode it, but will see equal strings.
+     */
+    private String name(final int id) {
+        final String cached = decoded[id];
+        if (cached != null) return cached;
+        final int start = buffer.getInt(offsetsAt + 4 * id);
+        final int end = buffer.getInt(offsetsAt + 4 * (id + 1));
+        final byte[] bytes = new byte[end - start];
+        buffer.get(bytesAt + start, bytes);
+        final String name = new String(bytes, StandardCharsets.UTF_8);
+        decoded[id] = name;
+        return name;
+    }
+}
@@ -0,0 +1,153 @@
+package com.maybitssquid.holidays;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.function.Function;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+/**
+ * Set operations over named calendars, such as the holidays of several jurisdictions. For each year the sorted
+ * events of every calendar that fall in the year are merged, rather than concatenated and sorted again. Events
+ * generated for one year but falling in another, such as an observance moved back into December, are merged with the
+ * year they fall in, so the results agree with {@link #anyIndex} and {@link #allIndex}.
+ */
+public class Calendars {
+    private final String[] names;
+    private final Events[] calendars;
+
+    /**
+     * @param calendars the calendars, by name, in the order that ties between equal events are broken.
+     */
+    public Calendars(final Map<String, ? extends Events> calendars) {
+        if (calendars.isEmpty()) throw new IllegalArgumentException("Missing calendars to combine");
+        this.names = calendars.keySet().toArray(new String[0]);
+        this.calendars = calendars.values().toArray(new Events[0]);
+    }
+
+    /**
+     * Events that are in any of the calendars.
+     *
+     * @param years the years to find events in.
+     * @return every event of every calendar, tagged with its calendar, sorted by date and name.
+     */
+    public Stream<CalendarEvent> union(final IntStream years) {
+        return years.mapToObj(this::merge).flatMap(Arrays::stream);
+    }
+
+    /**
+     * Events on the days that are a holiday in all of the calendars.
+     *
+     * @param years the years to find events in.
+     * @return the events of every calendar on days that every calendar has an event, tagged with their calendar,
+     * sorted by date and name.
+     */
+    public Stream<CalendarEvent> intersection(final IntStream years) {
+        return years.mapToObj(y -> {
+            final CalendarEvent[] merged = merge(y);
+            final ArrayList<CalendarEvent> common = new ArrayList<>();
+            final boolean[] seen = new boolean[calendars.length];
+            int start = 0;
+            while (start < merged.length) {
+                int end = start;
+                int distinct = 0;
+                Arrays.fill(seen, false);
+                while (end < merged.length && merged[end].event().date().equals(merged[start].event().date())) {
+                    final int c = index(merged[end].calendar());
+                    if (!seen[c]) {
+                        seen[c] = true;
+                        distinct++;
+                    }
+                    end++;
+                }
+                if (distinct == calendars.length) {
+                    common.addAll(Arrays.asList(merged).subList(start, end));
+                }
+                start = end;
+            }
+            return common.stream();
+        }).flatMap(Function.identity());
+    }
+
+    /**
+     * @return the events that are in any of the calendars, without their tags.
+     * @see #union(IntStream)
+     */
+    public Events any() {
+        return years -> union(years).map(CalendarEvent::event);
+    }
+
+    /**
+     * @return the events on days that are a holiday in all of the calendars, without their tags.
+     * @see #intersection(IntStream)
+     */
+    public Events all() {
+        return years -> intersection(years).map(CalendarEvent::event);
+    }
+
+    /**
+     * Compiles the days that are a holiday in any of the calendars, as the bitwise OR of an index per calendar.
+     *
+     * @param firstYear first year of the range, inclusive.
+     * @param lastYear  last year of the range, inclusive.
+     * @return the compiled union.
+     */
+    public HolidayIndex anyIndex(final int firstYear, final int lastYear) {
+        return HolidayIndex.or(indexes(firstYear, lastYear));
+    }
+
+    /**
+     * Compiles the days that are a holiday in all of the calendars, as the bitwise AND of an index per calendar.
+     *
+     * @param firstYear first year of the range, inclusive.
+     * @param lastYear  last year of the range, inclusive.
+     * @return the compiled intersection.
+     */
+    public HolidayIndex allIndex(final int firstYear, final int lastYear) {
+        return HolidayIndex.and(indexes(firstYear, lastYear));
+    }
+
+    private HolidayIndex[] indexes(final int firstYear, final int lastYear) {
+        final HolidayIndex[] indexes = new HolidayIndex[calendars.length];
+        for (int c = 0; c < calendars.length; c++) {
+            indexes[c] = new HolidayIndex(calendars[c], firstYear, lastYear);
+        }
+        return indexes;
+    }
+
+    /**
+     * K-way merge of the events of each calendar that fall in a year.
+     */
+    private CalendarEvent[] merge(final int year) {
+        final Event[][] events = new Event[calendars.length][];
+        final int[] next = new int[calendars.length];
+        final PriorityQueue<Integer> heads = new PriorityQueue<>(calendars.length, (a, b) -> {
+            final int order = events[a][next[a]].compareTo(events[b][next[b]]);
+            return order != 0 ? order : Integer.compare(a, b);
+        });
+        int total = 0;
+        for (int c = 0; c < calendars.length; c++) {
+            events[c] = calendars[c].between(LocalDate.of(year, 1, 1), LocalDate.of(year + 1, 1, 1))
+                    .toArray(Event[]::new);
+            total += events[c].length;
+            if (events[c].length > 0) heads.add(c);
+        }
+        final CalendarEvent[] merged = new CalendarEvent[total];
+        for (int i = 0; i < total; i++) {
+            final int c = heads.remove();
+            merged[i] = new CalendarEvent(names[c], events[c][next[c]]);
+            if (++next[c] < events[c].length) heads.add(c);
+        }
+        return merged;
+    }
+
+    private int index(final String name) {
+        for (int c = 0; c < names.length; c++) {
+            if (names[c].equals(name)) return c;
+        }
+        throw new AssertionError("Unknown calendar " + name);
+    }
+}
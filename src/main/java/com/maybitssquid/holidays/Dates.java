@@ -0,0 +1,167 @@
+package com.maybitssquid.holidays;
+
+import java.time.LocalDate;
+import java.time.Year;
+
+/**
+ * Primitive date arithmetic on epoch days, matching {@link LocalDate} without allocating.
+ */
+final class Dates {
+    private Dates() {
+    }
+
+    /**
+     * Days from 0000-01-01 to 1970-01-01 in the proleptic Gregorian calendar.
+     */
+    private static final long DAYS_0000_TO_1970 = 719528L;
+
+    /**
+     * Days in the 400 year cycle of the Gregorian calendar.
+     */
+    private static final long DAYS_PER_CYCLE = 146097L;
+
+    private static final long MIN_EPOCH_DAY = LocalDate.MIN.toEpochDay();
+    private static final long MAX_EPOCH_DAY = LocalDate.MAX.toEpochDay();
+
+    static boolean isValidYear(final long year) {
+        return year >= Year.MIN_VALUE && year <= Year.MAX_VALUE;
+    }
+
+    /**
+     * Whether an epoch day is between {@link LocalDate#MIN} and {@link LocalDate#MAX}. A day computed for a valid
+     * year may still fall outside, such as the fifth Sunday of December in the last year.
+     */
+    static boolean isValidEpochDay(final long epochDay) {
+        return epochDay >= MIN_EPOCH_DAY && epochDay <= MAX_EPOCH_DAY;
+    }
+
+    static boolean isLeap(final long year) {
+        return (year & 3) == 0 && (year % 100 != 0 || year % 400 == 0);
+    }
+
+    static int lengthOfMonth(final int year, final int month) {
+        return switch (month) {
+            case 2 -> isLeap(year) ? 29 : 28;
+            case 4, 6, 9, 11 -> 30;
+            default -> 31;
+        };
+    }
+
+    /**
+     * Epoch day of a date, as {@link LocalDate#toEpochDay()}.
+     */
+    static long epochDay(final int year, final int month, final int dayOfMonth) {
+        final long y = year;
+        long total = 365L * y;
+        if (y >= 0) {
+            total += (y + 3) / 4 - (y + 99) / 100 + (y + 399) / 400;
+        } else {
+            total -= y / -4 - y / -100 + y / -400;
+        }
+        total += (367L * month - 362) / 12;
+        total += dayOfMonth - 1;
+        if (month > 2) {
+            total--;
+            if (!isLeap(year)) {
+                total--;
+            }
+        }
+        return total - DAYS_0000_TO_1970;
+    }
+
+    /**
+     * Year, month and day of an epoch day, as {@link LocalDate#ofEpochDay(long)}, packed into a long to be unpacked
+     * by {@link #year(long)}, {@link #month(long)} and {@link #dayOfMonth(long)}.
+     */
+    static long civil(final long epochDay) {
+        long zeroDay = epochDay + DAYS_0000_TO_1970 - 60;
+        long adjust = 0;
+        if (zeroDay < 0) {
+            final long adjustCycles = (zeroDay + 1) / DAYS_PER_CYCLE - 1;
+            adjust = adjustCycles * 400;
+            zeroDay += -adjustCycles * DAYS_PER_CYCLE;
+        }
+        long yearEst = (400 * zeroDay + 591) / DAYS_PER_CYCLE;
+        long doyEst = zeroDay - (365 * yearEst + yearEst / 4 - yearEst / 100 + yearEst / 400);
+        if (doyEst < 0) {
+            yearEst--;
+            doyEst = zeroDay - (365 * yearEst + yearEst / 4 - yearEst / 100 + yearEst / 400);
+        }
+        yearEst += adjust;
+        final int marchDoy0 = (int) doyEst;
+        final int marchMonth0 = (marchDoy0 * 5 + 2) / 153;
+        final int month = (marchMonth0 + 2) % 12 + 1;
+        final int dayOfMonth = marchDoy0 - (marchMonth0 * 306 + 5) / 10 + 1;
+        yearEst += marchMonth0 / 10;
+        return (yearEst << 9) | ((long) month << 5) | dayOfMonth;
+    }
+
+    static int year(final long civil) {
+        return (int) (civil >> 9);
+    }
+
+    static int month(final long civil) {
+        return (int) (civil >>> 5) & 15;
+    }
+
+    static int dayOfMonth(final long civil) {
+        return (int) civil & 31;
+    }
+
+    /**
+     * Epoch day of a month and day in a year, with February 29 moved to February 28 in years that are not leap
+     * years, as {@link LocalDate#withYear(int)}.
+     */
+    static long anniversary(final int year, final int month, final int dayOfMonth) {
+        return epochDay(year, month, month == 2 && dayOfMonth == 29 && !isLeap(year) ? 28 : dayOfMonth);
+    }
+
+    /**
+     * ISO day of the week of an epoch day, from 1 for Monday to 7 for Sunday.
+     */
+    static int dayOfWeek(final long epochDay) {
+        return (int) Math.floorMod(epochDay + 3L, 7L) + 1;
+    }
+
+    /**
+     * Epoch day of the ordinal day of the week in a month, as
+     * {@link java.time.temporal.TemporalAdjusters#dayOfWeekInMonth(int, java.time.DayOfWeek)}.
+     *
+     * @param ordinal   the position in the month, with negative values counting from the end of the month.
+     * @param dayOfWeek ISO day of the week, from 1 for Monday to 7 for Sunday.
+     */
+    static long dayOfWeekInMonth(final int year, final int month, final int ordinal, final int dayOfWeek) {
+        if (ordinal >= 0) {
+            final long first = epochDay(year, month, 1);
+            final int diff = (dayOfWeek - dayOfWeek(first) + 7) % 7;
+            return first + diff + (ordinal - 1L) * 7L;
+        } else {
+            final long last = epochDay(year, month, lengthOfMonth(year, month));
+            int diff = dayOfWeek - dayOfWeek(last);
+            diff = diff == 0 ? 0 : (diff > 0 ? diff - 7 : diff);
+            return last + diff - (-ordinal - 1L) * 7L;
+        }
+    }
+
+    /**
+     * Bulk form of {@link #dayOfWeekInMonth(int, int, int, int)} for many years, with the rule decided once outside
+     * the loop. Each year needs only its anchor day and its day of the week.
+     */
+    static void dayOfWeekInMonth(final int[] years, final int month, final int ordinal, final int dayOfWeek,
+                                 final long[] days) {
+        if (ordinal >= 0) {
+            final long weeks = (ordinal - 1L) * 7L;
+            for (int i = 0; i < years.length; i++) {
+                final long first = epochDay(years[i], month, 1);
+                days[i] = first + (dayOfWeek - dayOfWeek(first) + 7) % 7 + weeks;
+            }
+        } else {
+            final long weeks = (-ordinal - 1L) * 7L;
+            for (int i = 0; i < years.length; i++) {
+                final int year = years[i];
+                final long last = epochDay(year, month, lengthOfMonth(year, month));
+                days[i] = last - (dayOfWeek(last) - dayOfWeek + 7) % 7 - weeks;
+            }
+        }
+    }
+}
@@ -0,0 +1,168 @@
+package com.maybitssquid.holidays;
+
+import java.time.LocalDate;
+import java.util.Optional;
+
+/**
+ * Movable feast a fixed number of days from Easter Sunday, such as Good Friday two days before it or Easter Monday
+ * the day after. Easter Sunday comes from a table covering {@link #TABLE_FIRST_YEAR} to {@link #TABLE_LAST_YEAR}, so
+ * evaluating a year in that range is a single array lookup, and is computed arithmetically outside it.
+ */
+public final class Easter implements Yearly {
+    /**
+     * First year held in the tables.
+     */
+    public static final int TABLE_FIRST_YEAR = 1583;
+
+    /**
+     * Last year held in the tables.
+     */
+    public static final int TABLE_LAST_YEAR = 9999;
+
+    /**
+     * Method of computing the date of Easter Sunday. Dates are always given in the Gregorian calendar.
+     */
+    public enum Computus {
+        /**
+         * Gregorian computus, observed in the West from 1583.
+         */
+        GREGORIAN(1583, true),
+
+        /**
+         * Julian computus, observed by the Eastern churches, from the Council of Nicaea.
+         */
+        JULIAN(326, false);
+
+        private final int firstYear;
+        private final boolean gregorian;
+        private final byte[] table;
+
+        Computus(final int firstYear, final boolean gregorian) {
+            this.firstYear = firstYear;
+            this.gregorian = gregorian;
+            this.table = new byte[TABLE_LAST_YEAR - TABLE_FIRST_YEAR + 1];
+            for (int year = TABLE_FIRST_YEAR; year <= TABLE_LAST_YEAR; year++) {
+                table[year - TABLE_FIRST_YEAR] = (byte) (sunday(year) - Dates.epochDay(year, 3, 22));
+            }
+        }
+
+        /**
+         * @return the first year Easter is observed by this computus.
+         */
+        public int getFirstYear() {
+            return firstYear;
+        }
+
+        /**
+         * Epoch day of Easter Sunday, computed for any year whether or not this computus was observed then.
+         *
+         * @param year the year.
+         * @return the epoch day, in the Gregorian calendar.
+         */
+        public long epochDay(final int year) {
+            if (year >= TABLE_FIRST_YEAR && year <= TABLE_LAST_YEAR) {
+                return Dates.epochDay(year, 3, 22) + table[year - TABLE_FIRST_YEAR];
+            } else {
+                return sunday(year);
+            }
+        }
+
+        private long sunday(final int year) {
+            if (gregorian) {
+                final int a = Math.floorMod(year, 19);
+                final int b = Math.floorDiv(year, 100);
+                final int c = Math.floorMod(year, 100);
+                final int d = Math.floorDiv(b, 4);
+                final int e = Math.floorMod(b, 4);
+                final int g = Math.floorDiv(b - Math.floorDiv(b + 8, 25) + 1, 3);
+                final int h = Math.floorMod(19 * a + b - d - g + 15, 30);
+                final int l = Math.floorMod(32 + 2 * e + 2 * (c / 4) - h - c % 4, 7);
+                final int m = (a + 11 * h + 22 * l) / 451;
+                final int n = h + l - 7 * m + 114;
+                return Dates.epochDay(year, n / 31, n % 31 + 1);
+            } else {
+                final int a = Math.floorMod(year, 4);
+                final int b = Math.floorMod(year, 7);
+                final int d = Math.floorMod(19 * Math.floorMod(year, 19) + 15, 30);
+                final int e = Math.floorMod(2 * a + 4 * b - d + 34, 7);
+                final int n = d + e + 114;
+                final long shift = Math.floorDiv(year, 100) - Math.floorDiv(year, 400) - 2;
+                return Dates.epochDay(year, n / 31, n % 31 + 1) + shift;
+            }
+        }
+    }
+
+    private final String name;
+    private final Computus computus;
+    private final long offset;
+    private final long firstDay;
+    private final long lastDay;
+
+    /**
+     * @param name     name of the feast.
+     * @param computus method of computing Easter Sunday.
+     * @param offset   days from Easter Sunday to the feast.
+     * @param first    first date the feast is observed, defaulting to the first year of the computus.
+     * @param last     last date the feast is observed, defaulting to no end.
+     */
+    public Easter(final String name, final Computus computus, final long offset,
+                  final LocalDate first, final LocalDate last) {
+        if (name == null) throw new IllegalArgumentException("Missing name for feast");
+        if (computus == null) throw new IllegalArgumentException("Missing computus for feast");
+        this.name = name;
+        this.computus = computus;
+        this.offset = offset;
+        this.firstDay = first == null ? LocalDate.of(computus.getFirstYear(), 1, 1).toEpochDay() : first.toEpochDay();
+        this.lastDay = last == null ? Long.MAX_VALUE : last.toEpochDay();
+    }
+
+    public Easter(final String name, final Computus computus, final long offset) {
+        this(name, computus, offset, null, null);
+    }
+
+    public Easter(final String name, final long offset) {
+        this(name, Computus.GREGORIAN, offset);
+    }
+
+    String getName() {
+        return name;
+    }
+
+    @Override
+    public LocalDate compute(final int year) {
+        return LocalDate.ofEpochDay(computus.epochDay(year) + offset);
+    }
+
+    @Override
+    public long epochDay(final int year) {
+        if (Dates.isValidYear(year) && year >= computus.getFirstYear()) {
+            final long day = computus.epochDay(year) + offset;
+            return day < firstDay || day > lastDay || !Dates.isValidEpochDay(day) ? NONE : day;
+        } else {
+            return NONE;
+        }
+    }
+
+    /**
+     * The months between the earliest and latest feast, unless the offset may carry it into an adjacent year.
+     * @return {@inheritDoc}
+     */
+    @Override
+    public int months() {
+        if (computus != Computus.GREGORIAN) return ALL_MONTHS;
+        int mask = 0;
+        for (int year : new int[]{2000, 2001}) {
+            final LocalDate earliest = LocalDate.of(year, 3, 22).plusDays(offset);
+            final LocalDate latest = LocalDate.of(year, 4, 25).plusDays(offset);
+            if (earliest.getYear() != year || latest.getYear() != year) return ALL_MONTHS;
+            mask |= (1 << latest.getMonthValue()) - (1 << (earliest.getMonthValue() - 1));
+        }
+        return mask;
+    }
+
+    @Override
+    public Optional<Event> apply(final int year) {
+        final long day = epochDay(year);
+        return day == NONE ? Optional.empty() : Optional.of(new Event(LocalDate.ofEpochDay(day), name));
+    }
+}
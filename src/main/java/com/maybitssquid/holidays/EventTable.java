@@ -0,0 +1,257 @@
+package com.maybitssquid.holidays;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.function.ObjLongConsumer;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+/**
+ * Immutable events sorted by date and name, held in columns: the epoch day of each event, and an index into a table
+ * of the distinct names. Lookups by date are binary searches, slices share the columns of the table they are taken
+ * from, and {@link #forEach(ObjLongConsumer)} visits the events without creating any objects.
+ */
+public final class EventTable implements Iterable<Event> {
+    private static final EventTable EMPTY = new EventTable(new long[0], new int[0], new String[0], 0, 0);
+
+    private final long[] days;
+    private final int[] nameIds;
+    private final String[] names;
+    private final int from;
+    private final int to;
+
+    private EventTable(final long[] days, final int[] nameIds, final String[] names, final int from, final int to) {
+        this.days = days;
+        this.nameIds = nameIds;
+        this.names = names;
+        this.from = from;
+        this.to = to;
+    }
+
+    /**
+     * Table of events that are already sorted by date and name. The arrays are copied.
+     *
+     * @param days  the epoch day of each event.
+     * @param names the name of each event.
+     * @param count the number of events.
+     * @return the table.
+     */
+    static EventTable sorted(final long[] days, final String[] names, final int count) {
+        if (count == 0) return EMPTY;
+        final int[] ids = new int[count];
+        final Map<String, Integer> interned = new HashMap<>();
+        for (int i = 0; i < count; i++) {
+            final Integer id = interned.putIfAbsent(names[i], interned.size());
+            ids[i] = id == null ? interned.size() - 1 : id;
+        }
+        final String[] distinct = new String[interned.size()];
+        for (Map.Entry<String, Integer> name : interned.entrySet()) {
+            distinct[name.getValue()] = name.getKey();
+        }
+        return new EventTable(Arrays.copyOf(days, count), ids, distinct, 0, count);
+    }
+
+    /**
+     * Table of events in any order.
+     *
+     * @param events the events.
+     * @return the events, sorted by date and name.
+     */
+    public static EventTable of(final Event... events) {
+        final Event[] ordered = events.clone();
+        Arrays.sort(ordered, Event.getComparator());
+        final long[] days = new long[ordered.length];
+        final String[] names = new String[ordered.length];
+        for (int i = 0; i < ordered.length; i++) {
+            days[i] = ordered[i].date().toEpochDay();
+            names[i] = ordered[i].name();
+        }
+        return sorted(days, names, ordered.length);
+    }
+
+    /**
+     * Inserts an event into the sorted prefix of the arrays, for building the events of a year from its few rules.
+     *
+     * @return the new number of events.
+     */
+    static int insert(final long[] days, final String[] names, final int count, final long day, final String name) {
+        int i = count;
+        while (i > 0 && (days[i - 1] > day || (days[i - 1] == day && names[i - 1].compareTo(name) > 0))) {
+            days[i] = days[i - 1];
+            names[i] = names[i - 1];
+            i--;
+        }
+        days[i] = day;
+        names[i] = name;
+        return count + 1;
+    }
+
+    /**
+     * @return the number of events.
+     */
+    public int size() {
+        return to - from;
+    }
+
+    /**
+     * @param i the position of the event.
+     * @return the epoch day of the event.
+     */
+    public long epochDay(final int i) {
+        return days[index(i)];
+    }
+
+    /**
+     * @param i the position of the event.
+     * @return the date of the event.
+     */
+    public LocalDate date(final int i) {
+        return LocalDate.ofEpochDay(epochDay(i));
+    }
+
+    /**
+     * @param i the position of the event.
+     * @return the name of the event.
+     */
+    public String name(final int i) {
+        return names[nameIds[index(i)]];
+    }
+
+    /**
+     * @param i the position of the event.
+     * @return the position of the name of the event in {@link #names()}.
+     */
+    public int nameId(final int i) {
+        return nameIds[index(i)];
+    }
+
+    /**
+     * @param i the position of the event.
+     * @return the event.
+     */
+    public Event get(final int i) {
+        return new Event(date(i), name(i));
+    }
+
+    /**
+     * The distinct names of the table this was sliced from, indexed by {@link #nameId(int)}.
+     *
+     * @return a copy of the names.
+     */
+    public String[] names() {
+        return names.clone();
+    }
+
+    /**
+     * The position of the first event on or after a day.
+     *
+     * @param epochDay the day to search for.
+     * @return the position, which is {@link #size()} if every event is before the day.
+     */
+    public int search(final long epochDay) {
+        int low = from;
+        int high = to;
+        while (low < high) {
+            final int mid = (low + high) >>> 1;
+            if (days[mid] < epochDay) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low - from;
+    }
+
+    /**
+     * Whether at least one event falls on the date.
+     *
+     * @param date the date to check.
+     * @return whether there is an event on the date.
+     */
+    public boolean contains(final LocalDate date) {
+        final long day = date.toEpochDay();
+        final int i = search(day);
+        return i < size() && days[from + i] == day;
+    }
+
+    /**
+     * The events within a range of days, sharing the columns of this table.
+     *
+     * @param fromDay        the first epoch day, inclusive.
+     * @param toDayExclusive the last epoch day, exclusive.
+     * @return the events in the range.
+     */
+    public EventTable slice(final long fromDay, final long toDayExclusive) {
+        if (fromDay >= toDayExclusive) return EMPTY;
+        final int start = from + search(fromDay);
+        final int end = from + search(toDayExclusive);
+        return start == from && end == to ? this : new EventTable(days, nameIds, names, start, end);
+    }
+
+    /**
+     * The events within a range of dates, sharing the columns of this table.
+     *
+     * @param fromDate    the first date, inclusive.
+     * @param toExclusive the last date, exclusive.
+     * @return the events in the range.
+     */
+    public EventTable slice(final LocalDate fromDate, final LocalDate toExclusive) {
+        return slice(fromDate.toEpochDay(), toExclusive.toEpochDay());
+    }
+
+    /**
+     * Visits the events in order without creating them.
+     *
+     * @param action receives the name and epoch day of each event.
+     */
+    public void forEach(final ObjLongConsumer<String> action) {
+        for (int i = from; i < to; i++) {
+            action.accept(names[nameIds[i]], days[i]);
+        }
+    }
+
+    /**
+     * @return the events, sorted by date and name.
+     */
+    public Event[] toArray() {
+        final Event[] events = new Event[size()];
+        for (int i = 0; i < events.length; i++) {
+            events[i] = get(i);
+        }
+        return events;
+    }
+
+    /**
+     * @return the events, sorted by date and name.
+     */
+    public Stream<Event> stream() {
+        return IntStream.range(0, size()).mapToObj(this::get);
+    }
+
+    @Override
+    public Iterator<Event> iterator() {
+        return new Iterator<>() {
+            private int i = 0;
+
+            @Override
+            public boolean hasNext() {
+                return i < size();
+            }
+
+            @Override
+            public Event next() {
+                if (!hasNext()) throw new NoSuchElementException();
+                return get(i++);
+            }
+        };
+    }
+
+    private int index(final int i) {
+        if (i < 0 || i >= size()) throw new IndexOutOfBoundsException(i);
+        return from + i;
+    }
+}
@@ -1,8 +1,78 @@
 package com.maybitssquid.holidays;
 
+import java.time.LocalDate;
+import java.util.Optional;
 import java.util.function.Function;
 import java.util.stream.IntStream;
 import java.util.stream.Stream;
 
 public interface Events extends Function<IntStream, Stream<Event>> {
+
+    /**
+     * The number of years searched by {@link #next(LocalDate)} and {@link #previous(LocalDate)} before giving up.
+     */
+    int SEARCH_YEARS = 400;
+
+    /**
+     * The events generated for a year, held in columns. The default collects {@link #apply} for the year; rules that
+     * are evaluated directly, such as {@link Holidays#generator} and {@link Plan}, fill the columns without sorting
+     * events.
+     *
+     * @param year the year to generate the events for.
+     * @return the events, sorted by date and name.
+     */
+    default EventTable table(final int year) {
+        return EventTable.of(apply(IntStream.of(year)).toArray(Event[]::new));
+    }
+
+    /**
+     * Events within a range of dates, sorted by date and name. The events of each year are only generated once the
+     * stream reaches that year. The default generates the adjacent years as well, to find events generated for one
+     * year that fall in another.
+     *
+     * @param from        the first date, inclusive.
+     * @param toExclusive the last date, exclusive.
+     * @return the events in the range.
+     */
+    default Stream<Event> between(final LocalDate from, final LocalDate toExclusive) {
+        if (!from.isBefore(toExclusive)) return Stream.empty();
+        return IntStream.rangeClosed(from.getYear(), toExclusive.minusDays(1).getYear())
+                .mapToObj(y -> apply(IntStream.rangeClosed(y - 1, y + 1))
+                        .filter(e -> e.date().getYear() == y
+                                && !e.date().isBefore(from)
+                                && e.date().isBefore(toExclusive))
+                        .sorted())
+                .flatMap(Function.identity());
+    }
+
+    /**
+     * The first event after a date.
+     *
+     * @param date the date to search from, exclusive.
+     * @return the first event after the date, or empty if there is none within {@link #SEARCH_YEARS}.
+     */
+    default Optional<Event> next(final LocalDate date) {
+        final LocalDate from = date.plusDays(1);
+        for (int y = from.getYear(); y <= from.getYear() + SEARCH_YEARS; y++) {
+            final LocalDate start = y == from.getYear() ? from : LocalDate.of(y, 1, 1);
+            final Optional<Event> found = between(start, LocalDate.of(y + 1, 1, 1)).findFirst();
+            if (found.isPresent()) return found;
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * The last event before a date.
+     *
+     * @param date the date to search from, exclusive.
+     * @return the last event before the date, or empty if there is none within {@link #SEARCH_YEARS}.
+     */
+    default Optional<Event> previous(final LocalDate date) {
+        for (int y = date.getYear(); y >= date.getYear() - SEARCH_YEARS; y--) {
+            final LocalDate end = y == date.getYear() ? date : LocalDate.of(y + 1, 1, 1);
+            final Optional<Event> found = between(LocalDate.of(y, 1, 1), end).reduce((a, b) -> b);
+            if (found.isPresent()) return found;
+        }
+        return Optional.empty();
+    }
 }
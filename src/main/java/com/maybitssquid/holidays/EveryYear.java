@@ -1,6 +1,5 @@
 package com.maybitssquid.holidays;
 
-import java.time.DateTimeException;
 import java.time.LocalDate;
 import java.time.Month;
 import java.time.MonthDay;
@@ -19,17 +18,44 @@ public class EveryYear implements Yearly {
         this(name, MonthDay.of(month, dayOfMonth));
     }
 
+    MonthDay getDate() {
+        return date;
+    }
+
+    String getName() {
+        return name;
+    }
+
     @Override
     public LocalDate compute(final int year) {
         return date.atYear(year);
     }
 
     @Override
-    public Optional<Event> apply(final int year) {
-        try {
-            return Optional.of(new Event(compute(year), name));
-        } catch (DateTimeException e) {
-            return Optional.empty();
+    public long epochDay(final int year) {
+        return Dates.isValidYear(year)
+                ? Dates.anniversary(year, date.getMonthValue(), date.getDayOfMonth())
+                : NONE;
+    }
+
+    @Override
+    public void epochDays(final int[] years, final long[] days) {
+        final int month = date.getMonthValue();
+        final int dayOfMonth = date.getDayOfMonth();
+        for (int i = 0; i < years.length; i++) {
+            final int year = years[i];
+            days[i] = Dates.isValidYear(year) ? Dates.anniversary(year, month, dayOfMonth) : NONE;
         }
     }
+
+    @Override
+    public int months() {
+        return 1 << (date.getMonthValue() - 1);
+    }
+
+    @Override
+    public Optional<Event> apply(final int year) {
+        final long day = epochDay(year);
+        return day == NONE ? Optional.empty() : Optional.of(new Event(LocalDate.ofEpochDay(day), name));
+    }
 }
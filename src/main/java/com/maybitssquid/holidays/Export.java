@@ -0,0 +1,263 @@
+package com.maybitssquid.holidays;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Iterator;
+import java.util.stream.Stream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Streams events to CSV or iCalendar. Events are pulled from the stream one at a time and encoded into a fixed size
+ * buffer, so memory use does not depend on how many years are exported.
+ */
+public class Export {
+    private Export() {
+    }
+
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    /**
+     * Longest content line allowed by RFC 5545, in octets, excluding the line break.
+     */
+    private static final int ICALENDAR_LINE = 75;
+
+    public enum Format {
+        /**
+         * RFC 4180 comma separated values, with a header row of {@code date,name}.
+         */
+        CSV,
+        /**
+         * RFC 5545 iCalendar, with each event as an all-day VEVENT. The UID of an event is derived from its date and
+         * name, so it is the same whichever years or calendars are exported with it.
+         */
+        ICALENDAR
+    }
+
+    /**
+     * Outcome of an export.
+     *
+     * @param events the number of events written.
+     * @param nanos  the time taken to generate and write the events.
+     */
+    public record Summary(long events, long nanos) {
+        public double eventsPerSecond() {
+            return nanos == 0L ? 0.0 : events * 1e9 / nanos;
+        }
+    }
+
+    /**
+     * Writes events to a file.
+     *
+     * @param events the events to write.
+     * @param format the format to write.
+     * @param path   the file to write.
+     * @param gzip   whether to compress the file with gzip.
+     * @return the number of events written and the time taken.
+     * @throws IOException if the file cannot be written.
+     */
+    public static Summary write(final Stream<Event> events, final Format format, final Path path, final boolean gzip)
+            throws IOException {
+        try (WritableByteChannel channel = gzip
+                ? Channels.newChannel(new GZIPOutputStream(Files.newOutputStream(path), BUFFER_SIZE))
+                : Files.newByteChannel(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                        StandardOpenOption.TRUNCATE_EXISTING)) {
+            return write(events, format, channel);
+        }
+    }
+
+    /**
+     * Writes events to a channel. The channel is not closed.
+     *
+     * @param events  the events to write.
+     * @param format  the format to write.
+     * @param channel the channel to write to.
+     * @return the number of events written and the time taken.
+     * @throws IOException if the channel cannot be written.
+     */
+    public static Summary write(final Stream<Event> events, final Format format, final WritableByteChannel channel)
+            throws IOException {
+        final long start = System.nanoTime();
+        final Encoder out = new Encoder(channel);
+        final StringBuilder line = new StringBuilder(128);
+        long count = 0L;
+        switch (format) {
+            case CSV -> out.write(line.append("date,name\r\n"));
+            case ICALENDAR -> out.write(line.append("BEGIN:VCALENDAR\r\nVERSION:2.0\r\n")
+                    .append("PRODID:-//maybitssquid//Holidays//EN\r\nCALSCALE:GREGORIAN\r\n"));
+        }
+        final String stamp = format == Format.ICALENDAR ? stamp(LocalDateTime.now(ZoneOffset.UTC)) : null;
+        final Iterator<Event> iterator = events.iterator();
+        while (iterator.hasNext()) {
+            final Event e = iterator.next();
+            line.setLength(0);
+            switch (format) {
+                case CSV -> csv(line, e);
+                case ICALENDAR -> iCalendar(line, e, stamp);
+            }
+            out.write(line);
+            count++;
+        }
+        if (format == Format.ICALENDAR) {
+            line.setLength(0);
+            out.write(line.append("END:VCALENDAR\r\n"));
+        }
+        out.flush();
+        return new Summary(count, System.nanoTime() - start);
+    }
+
+    private static void csv(final StringBuilder line, final Event e) {
+        line.append(e.date()).append(',');
+        final String name = e.name();
+        boolean quote = false;
+        for (int i = 0; i < name.length() && !quote; i++) {
+            final char c = name.charAt(i);
+            quote = c == ',' || c == '"' || c == '\r' || c == '\n';
+        }
+        if (quote) {
+            line.append('"');
+            for (int i = 0; i < name.length(); i++) {
+                final char c = name.charAt(i);
+                if (c == '"') line.append('"');
+                line.append(c);
+            }
+            line.append('"');
+        } else {
+            line.append(name);
+        }
+        line.append("\r\n");
+    }
+
+    private static void iCalendar(final StringBuilder line, final Event e, final String stamp) {
+        final LocalDate date = e.date();
+        line.append("BEGIN:VEVENT\r\nUID:");
+        hex(date(line, date).append('-'), hash(e.name())).append("@holidays.maybitssquid.com\r\n");
+        line.append("DTSTAMP:").append(stamp).append("\r\n");
+        date(line.append("DTSTART;VALUE=DATE:"), date).append("\r\n");
+        date(line.append("DTEND;VALUE=DATE:"), date.plusDays(1)).append("\r\n");
+        final int summary = line.length();
+        line.append("SUMMARY:");
+        final String name = e.name();
+        for (int i = 0; i < name.length(); i++) {
+            final char c = name.charAt(i);
+            switch (c) {
+                case '\\', ';', ',' -> line.append('\\').append(c);
+                case '\n' -> line.append("\\n");
+                case '\r' -> {
+                }
+                default -> line.append(c);
+            }
+        }
+        fold(line, summary);
+        line.append("\r\nTRANSP:TRANSPARENT\r\nEND:VEVENT\r\n");
+    }
+
+    /**
+     * Folds the content line starting at an index so no line exceeds {@link #ICALENDAR_LINE} octets.
+     */
+    private static void fold(final StringBuilder line, final int start) {
+        int octets = 0;
+        for (int i = start; i < line.length(); i++) {
+            final char c = line.charAt(i);
+            final int width = c < 0x80 ? 1 : c < 0x800 || Character.isSurrogate(c) ? 2 : 3;
+            if (octets + width > ICALENDAR_LINE && !Character.isLowSurrogate(c)) {
+                line.insert(i, "\r\n ");
+                i += 3;
+                octets = 1;
+            }
+            octets += width;
+        }
+    }
+
+    /**
+     * 64-bit FNV-1a hash of the characters of a name, which unlike {@link String#hashCode()} leaves two names on the
+     * same date unlikely to share a UID.
+     */
+    private static long hash(final String name) {
+        long hash = 0xCBF29CE484222325L;
+        for (int i = 0; i < name.length(); i++) {
+            hash = (hash ^ name.charAt(i)) * 0x100000001B3L;
+        }
+        return hash;
+    }
+
+    private static StringBuilder hex(final StringBuilder line, final long value) {
+        for (int shift = 60; shift >= 0; shift -= 4) {
+            line.append(Character.forDigit((int) (value >>> shift) & 15, 16));
+        }
+        return line;
+    }
+
+    private static StringBuilder date(final StringBuilder line, final LocalDate date) {
+        final int year = date.getYear();
+        if (year >= 0 && year < 1000) line.append('0');
+        if (year >= 0 && year < 100) line.append('0');
+        if (year >= 0 && year < 10) line.append('0');
+        line.append(year);
+        if (date.getMonthValue() < 10) line.append('0');
+        line.append(date.getMonthValue());
+        if (date.getDayOfMonth() < 10) line.append('0');
+        return line.append(date.getDayOfMonth());
+    }
+
+    private static String stamp(final LocalDateTime now) {
+        final StringBuilder stamp = date(new StringBuilder(16), now.toLocalDate()).append('T');
+        if (now.getHour() < 10) stamp.append('0');
+        stamp.append(now.getHour());
+        if (now.getMinute() < 10) stamp.append('0');
+        stamp.append(now.getMinute());
+        if (now.getSecond() < 10) stamp.append('0');
+        return stamp.append(now.getSecond()).append('Z').toString();
+    }
+
+    /**
+     * UTF-8 encoder into a reused buffer that is drained to the channel whenever it fills.
+     */
+    private static final class Encoder {
+        private final WritableByteChannel channel;
+        private final CharsetEncoder encoder = StandardCharsets.UTF_8.newEncoder();
+        private final ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+
+        private Encoder(final WritableByteChannel channel) {
+            this.channel = channel;
+        }
+
+        void write(final CharSequence chars) throws IOException {
+            final CharBuffer in = CharBuffer.wrap(chars);
+            while (true) {
+                final CoderResult result = encoder.encode(in, buffer, true);
+                if (result.isOverflow()) {
+                    drain();
+                } else if (result.isUnderflow()) {
+                    encoder.reset();
+                    return;
+                } else {
+                    result.throwException();
+                }
+            }
+        }
+
+        void flush() throws IOException {
+            drain();
+        }
+
+        private void drain() throws IOException {
+            buffer.flip();
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            buffer.clear();
+        }
+    }
+}
@@ -7,10 +7,21 @@ import java.time.temporal.TemporalAdjusters;
 
 public class Floating extends Anniversary {
     private final TemporalAdjuster adjuster;
+    private final int month;
+    private final int ordinal;
+    private final int dayOfWeek;
 
-    public Floating(final Event event, final String observedAs, final LocalDate first, final int ordinal, final DayOfWeek dayOfWeek) {
-        super(event, observedAs, first);
+    public Floating(final Event event, final String observedAs, final LocalDate first, final LocalDate last,
+                    final int ordinal, final DayOfWeek dayOfWeek) {
+        super(event, observedAs, first, last);
         this.adjuster = TemporalAdjusters.dayOfWeekInMonth(ordinal, dayOfWeek);
+        this.month = event.date().getMonthValue();
+        this.ordinal = ordinal;
+        this.dayOfWeek = dayOfWeek.getValue();
+    }
+
+    public Floating(final Event event, final String observedAs, final LocalDate first, final int ordinal, final DayOfWeek dayOfWeek) {
+        this(event, observedAs, first, null, ordinal, dayOfWeek);
     }
 
     public Floating(final Event event, final LocalDate first, final int ordinal, final DayOfWeek dayOfWeek) {
@@ -21,8 +32,35 @@ public class Floating extends Anniversary {
         this(event, null, null, ordinal, dayOfWeek);
     }
 
+    int getOrdinal() {
+        return ordinal;
+    }
+
+    int getDayOfWeek() {
+        return dayOfWeek;
+    }
+
     @Override
     public LocalDate compute(final int year) {
         return super.compute(year).with(adjuster);
     }
+
+    /**
+     * The month of the original event, unless the ordinal may carry the date into an adjacent month.
+     * @return {@inheritDoc}
+     */
+    @Override
+    public int months() {
+        return ordinal != 0 && Math.abs(ordinal) <= 4 ? super.months() : ALL_MONTHS;
+    }
+
+    @Override
+    long computeEpochDay(final int year) {
+        return Dates.dayOfWeekInMonth(year, month, ordinal, dayOfWeek);
+    }
+
+    @Override
+    void computeEpochDays(final int[] years, final long[] days) {
+        Dates.dayOfWeekInMonth(years, month, ordinal, dayOfWeek, days);
+    }
 }
@@ -0,0 +1,38 @@
+package com.maybitssquid.holidays;
+
+/**
+ * Receives measurements of event generation. Measurements are only taken for rules and generators that are built
+ * with a listener other than {@link #NONE}, so generation without a listener is unaffected.
+ *
+ * @see Instrumentation
+ * @see Metrics
+ */
+public interface GenerationListener {
+
+    /**
+     * Listener that ignores all measurements, disabling instrumentation.
+     */
+    GenerationListener NONE = new GenerationListener() {
+    };
+
+    /**
+     * A rule was evaluated for a year.
+     *
+     * @param rule    the name of the rule.
+     * @param year    the year the rule was evaluated for.
+     * @param nanos   the time taken to evaluate the rule.
+     * @param emitted whether the rule produced an event, rather than filtering it out.
+     */
+    default void evaluated(String rule, int year, long nanos, boolean emitted) {
+    }
+
+    /**
+     * The events of a year were sorted.
+     *
+     * @param year   the year the events were generated for.
+     * @param events the number of events in the year.
+     * @param nanos  the time taken to sort the events.
+     */
+    default void sorted(int year, int events, long nanos) {
+    }
+}
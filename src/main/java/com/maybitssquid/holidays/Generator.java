@@ -0,0 +1,118 @@
+package com.maybitssquid.holidays;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Optional;
+import java.util.function.IntFunction;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+/**
+ * Events generated from yearly rules. Range queries only evaluate a {@link Yearly} rule for the years in which its
+ * {@link Yearly#months()} overlap the range, and only rules that may fall outside the year they are generated for are
+ * evaluated for the adjacent years.
+ *
+ * @see Holidays#generator
+ */
+final class Generator implements Events {
+    private final IntFunction<Optional<Event>>[] rules;
+    private final int[] months;
+    private final IntFunction<Event[]> year;
+    private final IntFunction<EventTable> table;
+
+    Generator(final IntFunction<Optional<Event>>[] rules) {
+        this(rules, GenerationListener.NONE);
+    }
+
+    /**
+     * @param listener receives the time taken to sort each year, unless it is {@link GenerationListener#NONE}.
+     */
+    Generator(final IntFunction<Optional<Event>>[] rules, final GenerationListener listener) {
+        this.rules = rules.clone();
+        this.months = new int[this.rules.length];
+        for (int i = 0; i < months.length; i++) {
+            months[i] = this.rules[i] instanceof Yearly yearly ? yearly.months() : Yearly.ALL_MONTHS;
+        }
+        this.year = yearly(this.rules, listener);
+        this.table = Holidays.table(this.rules);
+    }
+
+    /**
+     * Generate the events for a single year, sorted by date and name.
+     *
+     * @param listener receives the time taken to sort each year, unless it is {@link GenerationListener#NONE}.
+     * @see Holidays#yearly
+     */
+    static IntFunction<Event[]> yearly(final IntFunction<Optional<Event>>[] rules, final GenerationListener listener) {
+        return y -> {
+            final Event[] generated = new Event[rules.length];
+            int count = 0;
+            for (IntFunction<Optional<Event>> rule : rules) {
+                final Optional<Event> event = rule.apply(y);
+                if (event.isPresent()) generated[count++] = event.get();
+            }
+            if (listener == GenerationListener.NONE) {
+                Arrays.sort(generated, 0, count, Event.getComparator());
+            } else {
+                final long start = System.nanoTime();
+                Arrays.sort(generated, 0, count, Event.getComparator());
+                listener.sorted(y, count, System.nanoTime() - start);
+            }
+            return count == generated.length ? generated : Arrays.copyOf(generated, count);
+        };
+    }
+
+    @Override
+    public Stream<Event> apply(final IntStream years) {
+        return years.mapToObj(year).flatMap(Arrays::stream);
+    }
+
+    @Override
+    public EventTable table(final int year) {
+        return table.apply(year);
+    }
+
+    @Override
+    public Stream<Event> between(final LocalDate from, final LocalDate toExclusive) {
+        if (!from.isBefore(toExclusive)) return Stream.empty();
+        final LocalDate last = toExclusive.minusDays(1);
+        final long start = from.toEpochDay();
+        final long end = toExclusive.toEpochDay();
+        return IntStream.rangeClosed(from.getYear(), last.getYear())
+                .mapToObj(y -> {
+                    final int first = y == from.getYear() ? from.getMonthValue() : 1;
+                    final int to = y == last.getYear() ? last.getMonthValue() : 12;
+                    final int window = (1 << to) - (1 << (first - 1));
+                    return window(y, window, start, end);
+                })
+                .flatMap(Arrays::stream);
+    }
+
+    /**
+     * The events that fall in a year and a range of epoch days, sorted by date and name.
+     */
+    private Event[] window(final int y, final int window, final long start, final long end) {
+        final ArrayList<Event> found = new ArrayList<>();
+        for (int i = 0; i < rules.length; i++) {
+            if (months[i] == Yearly.ALL_MONTHS) {
+                for (int adjacent = y - 1; adjacent <= y + 1; adjacent++) {
+                    rules[i].apply(adjacent).ifPresent(e -> {
+                        if (e.date().getYear() == y && within(e, start, end)) found.add(e);
+                    });
+                }
+            } else if ((months[i] & window) != 0) {
+                rules[i].apply(y).ifPresent(e -> {
+                    if (within(e, start, end)) found.add(e);
+                });
+            }
+        }
+        found.sort(Event.getComparator());
+        return found.toArray(new Event[0]);
+    }
+
+    private static boolean within(final Event e, final long start, final long end) {
+        final long day = e.date().toEpochDay();
+        return day >= start && day < end;
+    }
+}
@@ -0,0 +1,177 @@
+package com.maybitssquid.holidays;
+
+import java.time.LocalDate;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Forward-only cursor over the days of a calendar, for walking a long sequence of dates in order. The cursor holds the
+ * events of the year it is in, and advancing moves a position through them, so each step costs amortized constant
+ * time and creates no objects. When the cursor comes within {@link #PREFETCH_DAYS} of the end of its year, the events
+ * of the next year are generated in the background, ready for when it crosses the boundary.
+ * <p>
+ * A cursor starts before any day, so it must be advanced before it is queried. It is not safe for use by more than one
+ * thread.
+ */
+public final class HolidayCursor {
+    /**
+     * Days before the end of a year at which the next year is generated.
+     */
+    public static final int PREFETCH_DAYS = 31;
+
+    /**
+     * The events that fall in a year.
+     */
+    private static final class Window {
+        private final int year;
+        private final long end;
+        private final long[] days;
+        private final String[] names;
+
+        private Window(final int year, final Events events) {
+            this.year = year;
+            this.end = LocalDate.of(year + 1, 1, 1).toEpochDay();
+            final Event[] found = events.between(LocalDate.of(year, 1, 1), LocalDate.of(year + 1, 1, 1))
+                    .toArray(Event[]::new);
+            this.days = new long[found.length];
+            this.names = new String[found.length];
+            for (int i = 0; i < found.length; i++) {
+                days[i] = found[i].date().toEpochDay();
+                names[i] = found[i].name();
+            }
+        }
+    }
+
+    private final Events events;
+    private final Executor executor;
+    private Window window;
+    private CompletableFuture<Window> prefetched;
+    private long day = Long.MIN_VALUE;
+    private int position;
+
+    /**
+     * @param events   the calendar.
+     * @param executor generates the next year in the background.
+     */
+    public HolidayCursor(final Events events, final Executor executor) {
+        if (events == null) throw new IllegalArgumentException("Missing events for cursor");
+        if (executor == null) throw new IllegalArgumentException("Missing executor for cursor");
+        this.events = events;
+        this.executor = executor;
+    }
+
+    /**
+     * Cursor that generates the next year on the common pool.
+     *
+     * @param events the calendar.
+     */
+    public HolidayCursor(final Events events) {
+        this(events, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Moves the cursor to a day.
+     *
+     * @param epochDay the day, which must not be before the current day.
+     */
+    public void advance(final long epochDay) {
+        if (epochDay < day) throw new IllegalArgumentException("Cursor cannot move backwards");
+        day = epochDay;
+        if (window == null || day >= window.end) {
+            final int year = Dates.year(Dates.civil(day));
+            window = window(year);
+            position = 0;
+        }
+        while (position < window.days.length && window.days[position] < day) {
+            position++;
+        }
+        if (prefetched == null && day >= window.end - PREFETCH_DAYS) {
+            final int next = window.year + 1;
+            prefetched = CompletableFuture.supplyAsync(() -> new Window(next, events), executor);
+        }
+    }
+
+    /**
+     * Moves the cursor to a date.
+     *
+     * @param date the date, which must not be before the current date.
+     */
+    public void advance(final LocalDate date) {
+        advance(date.toEpochDay());
+    }
+
+    /**
+     * @return the current day.
+     */
+    public long getDay() {
+        return day;
+    }
+
+    /**
+     * Whether at least one event falls on the current day.
+     *
+     * @return whether the day is a holiday.
+     */
+    public boolean isHoliday() {
+        if (window == null) throw new IllegalStateException("Cursor has not been advanced");
+        return position < window.days.length && window.days[position] == day;
+    }
+
+    /**
+     * The first event on the current day.
+     *
+     * @return the name of the event, or null if the day is not a holiday.
+     */
+    public String name() {
+        return isHoliday() ? window.names[position] : null;
+    }
+
+    /**
+     * The first day after the current day on which an event falls.
+     *
+     * @return the epoch day, or {@link Yearly#NONE} if there is none within {@link Events#SEARCH_YEARS}.
+     */
+    public long next() {
+        if (window == null) throw new IllegalStateException("Cursor has not been advanced");
+        int i = position;
+        while (i < window.days.length && window.days[i] == day) {
+            i++;
+        }
+        if (i < window.days.length) return window.days[i];
+        Window following = following();
+        for (int searched = 0; following.days.length == 0 && searched < Events.SEARCH_YEARS; searched++) {
+            following = new Window(following.year + 1, events);
+        }
+        return following.days.length == 0 ? Yearly.NONE : following.days[0];
+    }
+
+    /**
+     * The number of days from the current day to the next day on which an event falls.
+     *
+     * @return the number of days, or -1 if there is no such day within {@link Events#SEARCH_YEARS}.
+     */
+    public long daysUntilNext() {
+        final long next = next();
+        return next == Yearly.NONE ? -1L : next - day;
+    }
+
+    /**
+     * The events of a year, taken from the prefetched year if it is the one needed.
+     */
+    private Window window(final int year) {
+        final CompletableFuture<Window> pending = prefetched;
+        prefetched = null;
+        return pending != null && window.year + 1 == year ? pending.join() : new Window(year, events);
+    }
+
+    /**
+     * The events of the year after the current window, keeping them for when the cursor reaches it.
+     */
+    private Window following() {
+        if (prefetched == null) {
+            prefetched = CompletableFuture.completedFuture(new Window(window.year + 1, events));
+        }
+        return prefetched.join();
+    }
+}
@@ -0,0 +1,176 @@
+package com.maybitssquid.holidays;
+
+import java.time.LocalDate;
+import java.util.function.Function;
+import java.util.function.LongPredicate;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+/**
+ * Compiled index of the days on which at least one event falls. Each day in a range of years is represented by a
+ * single bit, so lookups within the range take constant time and do not allocate. Lookups outside the range fall back
+ * to generating the events on demand.
+ */
+public class HolidayIndex {
+    private final LongPredicate outside;
+    private final int firstYear;
+    private final int lastYear;
+    private final long firstDay;
+    private final long lastDay;
+    private final long[] bits;
+
+    /**
+     * Compiles the events for a range of years. Events are also generated for the years either side of the range, so
+     * that an event generated for one year but falling in another, such as a holiday observed on the last day of the
+     * previous year, is included.
+     *
+     * @param events    generator for the events to index.
+     * @param firstYear first year of the range, inclusive.
+     * @param lastYear  last year of the range, inclusive.
+     */
+    public HolidayIndex(final Function<IntStream, Stream<Event>> events, final int firstYear, final int lastYear) {
+        if (events == null) throw new IllegalArgumentException("Missing events to index");
+        if (lastYear < firstYear) throw new IllegalArgumentException("Last year is before first year");
+        this.outside = day -> {
+            final int year = LocalDate.ofEpochDay(day).getYear();
+            return events.apply(IntStream.rangeClosed(year - 1, year + 1))
+                    .anyMatch(e -> e.date().toEpochDay() == day);
+        };
+        this.firstYear = firstYear;
+        this.lastYear = lastYear;
+        this.firstDay = LocalDate.of(firstYear, 1, 1).toEpochDay();
+        this.lastDay = LocalDate.of(lastYear, 12, 31).toEpochDay();
+        this.bits = new long[(int) ((lastDay - firstDay) >>> 6) + 1];
+        events.apply(IntStream.rangeClosed(firstYear - 1, lastYear + 1)).forEach(e -> {
+            final long day = e.date().toEpochDay();
+            if (day >= firstDay && day <= lastDay) {
+                final long offset = day - firstDay;
+                bits[(int) (offset >>> 6)] |= 1L << offset;
+            }
+        });
+    }
+
+    private HolidayIndex(final HolidayIndex range, final long[] bits, final LongPredicate outside) {
+        this.outside = outside;
+        this.firstYear = range.firstYear;
+        this.lastYear = range.lastYear;
+        this.firstDay = range.firstDay;
+        this.lastDay = range.lastDay;
+        this.bits = bits;
+    }
+
+    public int getFirstYear() {
+        return firstYear;
+    }
+
+    public int getLastYear() {
+        return lastYear;
+    }
+
+    /**
+     * Whether at least one event falls on the date.
+     *
+     * @param date the date to check.
+     * @return whether the date is a holiday.
+     */
+    public boolean isHoliday(final LocalDate date) {
+        return isHoliday(date.toEpochDay());
+    }
+
+    /**
+     * Whether at least one event falls on the day.
+     *
+     * @param epochDay the day to check, counted from 1970-01-01.
+     * @return whether the day is a holiday.
+     * @see LocalDate#toEpochDay()
+     */
+    public boolean isHoliday(final long epochDay) {
+        if (epochDay >= firstDay && epochDay <= lastDay) {
+            final long offset = epochDay - firstDay;
+            return (bits[(int) (offset >>> 6)] & (1L << offset)) != 0L;
+        } else {
+            return outside.test(epochDay);
+        }
+    }
+
+    /**
+     * Combines indexes of the same range of years into an index of the days that are a holiday in any of them.
+     *
+     * @param indexes the indexes to combine.
+     * @return the union of the indexes.
+     */
+    public static HolidayIndex or(final HolidayIndex... indexes) {
+        final long[] bits = combine(indexes).clone();
+        for (HolidayIndex index : indexes) {
+            for (int w = 0; w < bits.length; w++) {
+                bits[w] |= index.bits[w];
+            }
+        }
+        final HolidayIndex[] parts = indexes.clone();
+        return new HolidayIndex(parts[0], bits, day -> {
+            for (HolidayIndex index : parts) {
+                if (index.isHoliday(day)) return true;
+            }
+            return false;
+        });
+    }
+
+    /**
+     * Combines indexes of the same range of years into an index of the days that are a holiday in all of them.
+     *
+     * @param indexes the indexes to combine.
+     * @return the intersection of the indexes.
+     */
+    public static HolidayIndex and(final HolidayIndex... indexes) {
+        final long[] bits = combine(indexes).clone();
+        for (HolidayIndex index : indexes) {
+            for (int w = 0; w < bits.length; w++) {
+                bits[w] &= index.bits[w];
+            }
+        }
+        final HolidayIndex[] parts = indexes.clone();
+        return new HolidayIndex(parts[0], bits, day -> {
+            for (HolidayIndex index : parts) {
+                if (!index.isHoliday(day)) return false;
+            }
+            return true;
+        });
+    }
+
+    /**
+     * Checks that indexes can be combined.
+     *
+     * @return the bits of the first index.
+     */
+    private static long[] combine(final HolidayIndex... indexes) {
+        if (indexes.length == 0) throw new IllegalArgumentException("Missing indexes to combine");
+        final HolidayIndex first = indexes[0];
+        for (HolidayIndex index : indexes) {
+            if (index.firstYear != first.firstYear || index.lastYear != first.lastYear) {
+                throw new IllegalArgumentException("Indexes cover different years");
+            }
+        }
+        return first.bits;
+    }
+
+    /**
+     * Epoch day represented by the lowest bit of the first word.
+     */
+    long getFirstDay() {
+        return firstDay;
+    }
+
+    /**
+     * Epoch day represented by the highest used bit of the last word.
+     */
+    long getLastDay() {
+        return lastDay;
+    }
+
+    /**
+     * The indexed days, 64 to a word, with the lowest bit of each word being the earliest day.
+     */
+    long[] words() {
+        return bits;
+    }
+}
@@ -0,0 +1,186 @@
+package com.maybitssquid.holidays;
+
+import java.time.LocalDate;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Holiday lookups for many concurrent callers. Concurrent requests for the same year share a single generation: the
+ * first caller starts it, and every caller that arrives before it completes waits on the same result. The number of
+ * distinct years being generated at once is limited. Asynchronous requests beyond the limit fail fast with a
+ * {@link RejectedExecutionException}, while blocking requests wait for a permit.
+ * <p>
+ * Nothing here holds a monitor or a thread local, so blocking calls suit virtual threads, which park rather than pin
+ * their carrier. Results are not kept once they are complete; wrap the events in a {@link YearCache} or
+ * {@link LazyCalendar} to keep them.
+ */
+public class HolidayService {
+    /**
+     * Default limit on the number of years generated at once.
+     */
+    public static final int MAXIMUM_IN_FLIGHT = 256;
+
+    private final Events events;
+    private final Executor executor;
+    private final Semaphore permits;
+    private final ConcurrentHashMap<Integer, CompletableFuture<EventTable>> flights = new ConcurrentHashMap<>();
+    private final LongAdder generations = new LongAdder();
+    private final LongAdder shared = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+
+    /**
+     * @param events          the events to look up.
+     * @param maximumInFlight the most years generated at once.
+     * @param executor        runs the generations started by asynchronous requests.
+     */
+    public HolidayService(final Events events, final int maximumInFlight, final Executor executor) {
+        if (events == null) throw new IllegalArgumentException("Missing events for service");
+        if (maximumInFlight < 1) throw new IllegalArgumentException("Service must allow at least one generation");
+        if (executor == null) throw new IllegalArgumentException("Missing executor for service");
+        this.events = events;
+        this.executor = executor;
+        this.permits = new Semaphore(maximumInFlight);
+    }
+
+    /**
+     * Service that allows {@link #MAXIMUM_IN_FLIGHT} generations, running asynchronous requests on the common pool.
+     *
+     * @param events the events to look up.
+     */
+    public HolidayService(final Events events) {
+        this(events, MAXIMUM_IN_FLIGHT, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * The events that fall in a year, wherever they were generated, generating them on the calling thread unless
+     * another caller already is.
+     *
+     * @param year the year to look up.
+     * @return the events, sorted by date and name.
+     */
+    public EventTable table(final int year) {
+        while (true) {
+            final CompletableFuture<EventTable> flight = new CompletableFuture<>();
+            final CompletableFuture<EventTable> existing = flights.putIfAbsent(year, flight);
+            if (existing == null) {
+                permits.acquireUninterruptibly();
+                generate(year, flight);
+                return join(flight);
+            }
+            shared.increment();
+            try {
+                return join(existing);
+            } catch (RejectedExecutionException e) {
+                // The shared request was asynchronous and over the limit, so wait for a permit instead
+            }
+        }
+    }
+
+    /**
+     * The events that fall in a year, wherever they were generated, generated on the executor unless another caller
+     * is already generating them.
+     *
+     * @param year the year to look up.
+     * @return the events, sorted by date and name, or a {@link RejectedExecutionException} if too many years are
+     * being generated.
+     */
+    public CompletableFuture<EventTable> tableAsync(final int year) {
+        final CompletableFuture<EventTable> flight = new CompletableFuture<>();
+        final CompletableFuture<EventTable> existing = flights.putIfAbsent(year, flight);
+        if (existing != null) {
+            shared.increment();
+            return existing.copy();
+        }
+        if (!permits.tryAcquire()) {
+            reject(year, flight, new RejectedExecutionException("Too many years in flight"));
+            return flight.copy();
+        }
+        try {
+            executor.execute(() -> generate(year, flight));
+        } catch (RejectedExecutionException e) {
+            permits.release();
+            reject(year, flight, e);
+        }
+        return flight.copy();
+    }
+
+    /**
+     * Whether at least one event falls on the date.
+     *
+     * @param date the date to check.
+     * @return whether the date is a holiday.
+     */
+    public boolean isHoliday(final LocalDate date) {
+        return table(date.getYear()).contains(date);
+    }
+
+    /**
+     * Whether at least one event falls on the date.
+     *
+     * @param date the date to check.
+     * @return whether the date is a holiday.
+     * @see #tableAsync(int)
+     */
+    public CompletableFuture<Boolean> isHolidayAsync(final LocalDate date) {
+        return tableAsync(date.getYear()).thenApply(table -> table.contains(date));
+    }
+
+    /**
+     * @return the number of years generated.
+     */
+    public long getGenerations() {
+        return generations.sum();
+    }
+
+    /**
+     * @return the number of requests that shared a generation started by another request.
+     */
+    public long getShared() {
+        return shared.sum();
+    }
+
+    /**
+     * @return the number of asynchronous requests rejected for being over the limit.
+     */
+    public long getRejected() {
+        return rejected.sum();
+    }
+
+    /**
+     * Generates a year while holding a permit, then releases the permit and the year.
+     */
+    private void generate(final int year, final CompletableFuture<EventTable> flight) {
+        try {
+            generations.increment();
+            flight.complete(EventTable.of(events.between(LocalDate.of(year, 1, 1), LocalDate.of(year + 1, 1, 1))
+                    .toArray(Event[]::new)));
+        } catch (Throwable t) {
+            flight.completeExceptionally(t);
+        } finally {
+            flights.remove(year, flight);
+            permits.release();
+        }
+    }
+
+    private void reject(final int year, final CompletableFuture<EventTable> flight, final Exception cause) {
+        rejected.increment();
+        flights.remove(year, flight);
+        flight.completeExceptionally(cause);
+    }
+
+    private static EventTable join(final CompletableFuture<EventTable> flight) {
+        try {
+            return flight.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) throw cause;
+            if (e.getCause() instanceof Error cause) throw cause;
+            throw e;
+        }
+    }
+}
@@ -1,7 +1,6 @@
 package com.maybitssquid.holidays;
 
-import java.util.ArrayList;
-import java.util.Comparator;
+import java.util.Arrays;
 import java.util.Optional;
 import java.util.function.BiConsumer;
 import java.util.function.Consumer;
@@ -56,6 +55,41 @@ public interface Holidays {
         };
     }
 
+    /**
+     * Generate the events for a single year, sorted by date and name.
+     *
+     * @param events generators for the yearly events.
+     * @return function to generate a new array of the events in a year.
+     */
+    @SafeVarargs
+    @SuppressWarnings("varargs") // The rules are only read
+    static IntFunction<Event[]> yearly(IntFunction<Optional<Event>>... events) {
+        return Generator.yearly(events, GenerationListener.NONE);
+    }
+
+    /**
+     * Generate the events for a single year into columns, without keeping the events created by the rules.
+     *
+     * @param events generators for the yearly events.
+     * @return function to generate the events in a year, sorted by date and name.
+     * @see Plan#table(int)
+     */
+    @SafeVarargs
+    static IntFunction<EventTable> table(IntFunction<Optional<Event>>... events) {
+        return y -> {
+            final long[] days = new long[events.length];
+            final String[] names = new String[events.length];
+            int count = 0;
+            for (IntFunction<Optional<Event>> generator : events) {
+                final Optional<Event> event = generator.apply(y);
+                if (event.isPresent()) {
+                    count = EventTable.insert(days, names, count, event.get().date().toEpochDay(), event.get().name());
+                }
+            }
+            return EventTable.sorted(days, names, count);
+        };
+    }
+
     /**
      * Convert a stream of years into a stream of yearly events.
      *
@@ -63,17 +97,42 @@ public interface Holidays {
      * @return function to map a stream of years into a stream of yearly events.
      */
     @SafeVarargs
-    static Function<IntStream, Stream<Event>> generator(IntFunction<Optional<Event>>... events) {
-        final IntFunction<Stream<Event>> year =
-                y -> {
-                    final ArrayList<Event> generated = new ArrayList<>(events.length);
-                    for (IntFunction<Optional<Event>> generator : events) {
-                        generator.apply(y).ifPresent(generated::add);
-                    }
-                    generated.sort(Comparator.comparing(Event::date).thenComparing(Event::name));
-                    return generated.stream();
-                };
-        return years -> years.mapToObj(year).flatMap(Function.identity());
+    @SuppressWarnings("varargs") // The generator copies the rules and only reads them
+    static Events generator(IntFunction<Optional<Event>>... events) {
+        return new Generator(events);
+    }
+
+    /**
+     * Convert a stream of years into a stream of yearly events, generating the years in parallel on the common
+     * fork-join pool. The years are split by index, so each worker takes an even share of the range regardless of how
+     * the years were streamed, and the events are returned in exactly the same order as {@link #generator}. All of the
+     * years are generated before the stream is returned.
+     *
+     * @param events generators for the yearly events.
+     * @return function to map a stream of years into a stream of yearly events.
+     */
+    @SafeVarargs
+    static Function<IntStream, Stream<Event>> parallel(IntFunction<Optional<Event>>... events) {
+        final IntFunction<Event[]> year = yearly(events);
+        return years -> {
+            final int[] ys = years.toArray();
+            final Event[][] generated = new Event[ys.length][];
+            IntStream.range(0, ys.length).parallel().forEach(i -> generated[i] = year.apply(ys[i]));
+            return Arrays.stream(generated).flatMap(Arrays::stream);
+        };
+    }
+
+    /**
+     * Convert a stream of years into a stream of yearly events, keeping the events of recently used years.
+     *
+     * @param maximumYears the most years to keep.
+     * @param events       generators for the yearly events.
+     * @return function to map a stream of years into a stream of yearly events.
+     * @see YearCache
+     */
+    @SafeVarargs
+    static YearCache cached(int maximumYears, IntFunction<Optional<Event>>... events) {
+        return new YearCache(yearly(events), maximumYears);
     }
 
 }
@@ -0,0 +1,43 @@
+package com.maybitssquid.holidays;
+
+import java.util.Map;
+
+/**
+ * Opt-in measurement of rules and generators. With {@link GenerationListener#NONE} the rules and generators are
+ * returned exactly as they would be without instrumentation, so disabled instrumentation costs nothing.
+ */
+public class Instrumentation {
+    private Instrumentation() {
+    }
+
+    /**
+     * Report each evaluation of a rule.
+     *
+     * @param name     the name to report the rule as.
+     * @param rule     the rule to measure.
+     * @param listener receives the measurements.
+     * @return the measured rule, or the rule itself if the listener is {@link GenerationListener#NONE}.
+     */
+    public static Yearly rule(final String name, final Yearly rule, final GenerationListener listener) {
+        return listener == GenerationListener.NONE ? rule : new Instrumented(name, rule, listener);
+    }
+
+    /**
+     * Convert a stream of years into a stream of yearly events, reporting each evaluation of a rule and the sorting
+     * of each year.
+     *
+     * @param listener receives the measurements.
+     * @param rules    generators for the yearly events, by the name to report them as.
+     * @return function to map a stream of years into a stream of yearly events.
+     * @see Holidays#generator
+     */
+    public static Events generator(final GenerationListener listener, final Map<String, ? extends Yearly> rules) {
+        final Yearly[] measured = new Yearly[rules.size()];
+        int i = 0;
+        for (Map.Entry<String, ? extends Yearly> rule : rules.entrySet()) {
+            measured[i++] = rule(rule.getKey(), rule.getValue(), listener);
+        }
+        return new Generator(measured, listener);
+    }
+
+}
@@ -0,0 +1,47 @@
+package com.maybitssquid.holidays;
+
+import java.time.LocalDate;
+import java.util.Optional;
+
+/**
+ * Rule that reports each evaluation to a listener.
+ *
+ * @see Instrumentation#rule(String, Yearly, GenerationListener)
+ */
+final class Instrumented implements Yearly {
+    private final String name;
+    private final Yearly rule;
+    private final GenerationListener listener;
+
+    Instrumented(final String name, final Yearly rule, final GenerationListener listener) {
+        this.name = name;
+        this.rule = rule;
+        this.listener = listener;
+    }
+
+    @Override
+    public LocalDate compute(final int year) {
+        return rule.compute(year);
+    }
+
+    @Override
+    public int months() {
+        return rule.months();
+    }
+
+    @Override
+    public long epochDay(final int year) {
+        final long start = System.nanoTime();
+        final long day = rule.epochDay(year);
+        listener.evaluated(name, year, System.nanoTime() - start, day != NONE);
+        return day;
+    }
+
+    @Override
+    public Optional<Event> apply(final int year) {
+        final long start = System.nanoTime();
+        final Optional<Event> event = rule.apply(year);
+        listener.evaluated(name, year, System.nanoTime() - start, event.isPresent());
+        return event;
+    }
+}
@@ -0,0 +1,248 @@
+package com.maybitssquid.holidays;
+
+import java.lang.ref.SoftReference;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+/**
+ * Calendar that compiles blocks of consecutive years the first time any date in them is used, growing in either
+ * direction. Blocks are published through a concurrent map, so readers never lock once a block exists. The first
+ * reader of a new block installs a placeholder and builds the block outside the map, while other readers of that block
+ * wait for it, so each block is built once without holding up readers of other blocks. Blocks may be held softly, so
+ * they are released under memory pressure, and may be capped in number, in which case the least recently used block
+ * is released.
+ * <p>
+ * Recently built blocks are also kept in a small table indexed by the low bits of their first year, so a lookup in a
+ * range of up to {@value #SLOTS} blocks neither boxes its key nor reads the map. Only a capped calendar tracks use,
+ * and then a reader only stamps a block once after each new block is built.
+ */
+public class LazyCalendar implements Events {
+    /**
+     * Default number of years in a block.
+     */
+    public static final int BLOCK_YEARS = 16;
+
+    /**
+     * Number of blocks held by the table of recent blocks.
+     */
+    private static final int SLOTS = 64;
+
+    private final class Block {
+        private final int firstYear;
+        private final Event[][] years;
+        private final HolidayIndex index;
+        private volatile long used;
+
+        private Block(final int firstYear) {
+            this.firstYear = firstYear;
+            this.years = new Event[blockYears][];
+            for (int i = 0; i < blockYears; i++) {
+                years[i] = events.apply(IntStream.of(firstYear + i)).toArray(Event[]::new);
+            }
+            this.index = new HolidayIndex(ys -> ys.mapToObj(y -> y >= firstYear && y < firstYear + blockYears
+                    ? Arrays.stream(years[y - firstYear])
+                    : events.apply(IntStream.of(y))).flatMap(Function.identity()),
+                    firstYear, firstYear + blockYears - 1);
+        }
+    }
+
+    /**
+     * Placeholder for a block being built outside the map, which other readers of the block wait for.
+     */
+    private final class Pending implements Supplier<Block> {
+        private final Thread builder = Thread.currentThread();
+        private final CompletableFuture<Block> block = new CompletableFuture<>();
+
+        private Block build(final int key) {
+            try {
+                final Block built = new Block(key * blockYears);
+                block.complete(built);
+                return built;
+            } catch (RuntimeException | Error e) {
+                blocks.remove(key, this);
+                block.completeExceptionally(e);
+                throw e;
+            }
+        }
+
+        @Override
+        public Block get() {
+            if (Thread.currentThread() == builder && !block.isDone()) {
+                throw new IllegalStateException("Events for a block depend on the block itself");
+            }
+            try {
+                return block.join();
+            } catch (CompletionException e) {
+                if (e.getCause() instanceof RuntimeException cause) throw cause;
+                if (e.getCause() instanceof Error cause) throw cause;
+                throw e;
+            }
+        }
+    }
+
+    private final Function<IntStream, Stream<Event>> events;
+    private final int blockYears;
+    private final int maximumBlocks;
+    private final boolean soft;
+    private final ConcurrentHashMap<Integer, Supplier<Block>> blocks = new ConcurrentHashMap<>();
+    /**
+     * Holders of recently built blocks by the low bits of their key. A reader racing a trim may at worst use a block
+     * that has just been trimmed.
+     */
+    private final AtomicReferenceArray<Supplier<Block>> slots = new AtomicReferenceArray<>(SLOTS);
+    private final AtomicLong clock = new AtomicLong();
+
+    /**
+     * @param events        generator for the events.
+     * @param blockYears    the number of years compiled at a time.
+     * @param maximumBlocks the most blocks to keep.
+     * @param soft          whether blocks may be released under memory pressure.
+     */
+    public LazyCalendar(final Function<IntStream, Stream<Event>> events, final int blockYears,
+                        final int maximumBlocks, final boolean soft) {
+        if (events == null) throw new IllegalArgumentException("Missing events for calendar");
+        if (blockYears < 1) throw new IllegalArgumentException("Blocks must hold at least one year");
+        if (maximumBlocks < 1) throw new IllegalArgumentException("Calendar must hold at least one block");
+        this.events = events;
+        this.blockYears = blockYears;
+        this.maximumBlocks = maximumBlocks;
+        this.soft = soft;
+    }
+
+    /**
+     * Calendar of {@link #BLOCK_YEARS} year blocks, held softly without a cap.
+     *
+     * @param events generator for the events.
+     */
+    public LazyCalendar(final Function<IntStream, Stream<Event>> events) {
+        this(events, BLOCK_YEARS, Integer.MAX_VALUE, true);
+    }
+
+    /**
+     * Whether at least one event falls on the date.
+     *
+     * @param date the date to check.
+     * @return whether the date is a holiday.
+     */
+    public boolean isHoliday(final LocalDate date) {
+        return block(date.getYear()).index.isHoliday(date.toEpochDay());
+    }
+
+    /**
+     * Whether at least one event falls on the day.
+     *
+     * @param epochDay the day to check, counted from 1970-01-01.
+     * @return whether the day is a holiday.
+     */
+    public boolean isHoliday(final long epochDay) {
+        return block(Dates.year(Dates.civil(epochDay))).index.isHoliday(epochDay);
+    }
+
+    /**
+     * The events generated for a year.
+     *
+     * @param year the year to generate the events for.
+     * @return the events, sorted by date and name.
+     */
+    public Stream<Event> events(final int year) {
+        final Block block = block(year);
+        return Arrays.stream(block.years[year - block.firstYear]);
+    }
+
+    @Override
+    public Stream<Event> apply(final IntStream years) {
+        return years.mapToObj(this::events).flatMap(Function.identity());
+    }
+
+    /**
+     * @return the number of blocks currently held, including any that have been released but not yet removed.
+     */
+    public int size() {
+        return blocks.size();
+    }
+
+    private Block block(final int year) {
+        final int key = Math.floorDiv(year, blockYears);
+        final Supplier<Block> slot = slots.get(key & (SLOTS - 1));
+        final Block recent = slot == null ? null : slot.get();
+        if (recent != null && recent.firstYear == key * blockYears) {
+            touch(recent);
+            return recent;
+        }
+        while (true) {
+            final Supplier<Block> held = blocks.get(key);
+            final Block block = held == null ? null : held.get();
+            if (block != null) {
+                touch(block);
+                return block;
+            }
+            final Pending pending = new Pending();
+            if (held == null ? blocks.putIfAbsent(key, pending) == null : blocks.replace(key, held, pending)) {
+                final Block built = pending.build(key);
+                built.used = clock.incrementAndGet();
+                final Supplier<Block> holder = hold(built);
+                blocks.replace(key, pending, holder);
+                slots.set(key & (SLOTS - 1), holder);
+                if (blocks.size() > maximumBlocks) {
+                    trim();
+                }
+                return built;
+            }
+        }
+    }
+
+    /**
+     * Stamps a block as used since the latest block was built, if the calendar is capped.
+     */
+    private void touch(final Block block) {
+        if (maximumBlocks == Integer.MAX_VALUE) return;
+        final long now = clock.get();
+        if (block.used < now) {
+            block.used = now;
+        }
+    }
+
+    private Supplier<Block> hold(final Block block) {
+        if (soft) {
+            final SoftReference<Block> reference = new SoftReference<>(block);
+            return reference::get;
+        } else {
+            return () -> block;
+        }
+    }
+
+    /**
+     * Removes released blocks, then the least recently used blocks until within the maximum. Blocks still being built
+     * are left in place.
+     */
+    private void trim() {
+        blocks.entrySet().removeIf(e -> !(e.getValue() instanceof Pending) && e.getValue().get() == null);
+        while (blocks.size() > maximumBlocks) {
+            Map.Entry<Integer, Supplier<Block>> oldest = null;
+            long oldestUsed = Long.MAX_VALUE;
+            for (Map.Entry<Integer, Supplier<Block>> e : blocks.entrySet()) {
+                if (e.getValue() instanceof Pending) continue;
+                final Block block = e.getValue().get();
+                final long used = block == null ? Long.MIN_VALUE : block.used;
+                if (used < oldestUsed) {
+                    oldest = e;
+                    oldestUsed = used;
+                }
+            }
+            if (oldest == null) return;
+            if (blocks.remove(oldest.getKey(), oldest.getValue())) {
+                slots.compareAndSet(oldest.getKey() & (SLOTS - 1), oldest.getValue(), null);
+            }
+        }
+    }
+}
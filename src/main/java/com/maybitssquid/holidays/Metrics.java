@@ -0,0 +1,143 @@
+package com.maybitssquid.holidays;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Listener that accumulates counts and latency histograms per rule, and the cost of sorting each year. Safe to share
+ * between threads.
+ */
+public class Metrics implements GenerationListener {
+
+    /**
+     * Histogram of nanosecond latencies in power of two buckets.
+     */
+    public static final class Histogram {
+        private final AtomicLongArray buckets = new AtomicLongArray(64);
+        private final LongAdder total = new LongAdder();
+
+        void record(final long nanos) {
+            buckets.incrementAndGet(64 - Long.numberOfLeadingZeros(Math.max(nanos, 0L)));
+            total.add(nanos);
+        }
+
+        /**
+         * @return the number of recorded latencies.
+         */
+        public long count() {
+            long count = 0L;
+            for (int b = 0; b < buckets.length(); b++) {
+                count += buckets.get(b);
+            }
+            return count;
+        }
+
+        /**
+         * @return the total of the recorded latencies, in nanoseconds.
+         */
+        public long totalNanos() {
+            return total.sum();
+        }
+
+        /**
+         * Upper bound of a percentile.
+         *
+         * @param percentile the percentile, from 0 to 100.
+         * @return the upper bound of the bucket holding the percentile, in nanoseconds.
+         */
+        public long percentile(final double percentile) {
+            final long count = count();
+            final long rank = (long) Math.ceil(count * percentile / 100.0);
+            long seen = 0L;
+            for (int b = 0; b < buckets.length(); b++) {
+                seen += buckets.get(b);
+                if (seen >= rank && seen > 0L) return b == 0 ? 0L : 1L << b;
+            }
+            return 0L;
+        }
+    }
+
+    /**
+     * Measurements of a single rule.
+     */
+    public static final class Rule {
+        private final LongAdder emitted = new LongAdder();
+        private final LongAdder filtered = new LongAdder();
+        private final Histogram latency = new Histogram();
+
+        /**
+         * @return the number of times the rule was evaluated.
+         */
+        public long getInvocations() {
+            return emitted.sum() + filtered.sum();
+        }
+
+        /**
+         * @return the number of evaluations that produced an event.
+         */
+        public long getEmitted() {
+            return emitted.sum();
+        }
+
+        /**
+         * @return the number of evaluations that produced no event, such as years before the rule was observed.
+         */
+        public long getFiltered() {
+            return filtered.sum();
+        }
+
+        public Histogram getLatency() {
+            return latency;
+        }
+    }
+
+    private final ConcurrentHashMap<String, Rule> rules = new ConcurrentHashMap<>();
+    private final LongAdder years = new LongAdder();
+    private final LongAdder events = new LongAdder();
+    private final Histogram sort = new Histogram();
+
+    @Override
+    public void evaluated(final String rule, final int year, final long nanos, final boolean emitted) {
+        Rule measured = rules.get(rule);
+        if (measured == null) {
+            measured = rules.computeIfAbsent(rule, r -> new Rule());
+        }
+        (emitted ? measured.emitted : measured.filtered).increment();
+        measured.latency.record(nanos);
+    }
+
+    @Override
+    public void sorted(final int year, final int events, final long nanos) {
+        this.years.increment();
+        this.events.add(events);
+        sort.record(nanos);
+    }
+
+    /**
+     * @return the measurements of each rule, by name.
+     */
+    public Map<String, Rule> getRules() {
+        return Collections.unmodifiableMap(rules);
+    }
+
+    /**
+     * @return the number of years generated.
+     */
+    public long getYears() {
+        return years.sum();
+    }
+
+    /**
+     * @return the number of events generated.
+     */
+    public long getEvents() {
+        return events.sum();
+    }
+
+    public Histogram getSortLatency() {
+        return sort;
+    }
+}
@@ -0,0 +1,70 @@
+package com.maybitssquid.holidays;
+
+import java.time.LocalDate;
+import java.util.Optional;
+import java.util.function.Function;
+
+/**
+ * Event generated by a {@link Yearly} rule and then passed through a modifier.
+ *
+ * @see Yearly#with(Function)
+ */
+final class Modified implements Yearly {
+    final Yearly base;
+    final Function<Event, Optional<Event>> modifier;
+
+    Modified(final Yearly base, final Function<Event, Optional<Event>> modifier) {
+        this.base = base;
+        this.modifier = modifier;
+    }
+
+    /**
+     * Delegates to the {@link #compute(int)} method of the base rule.
+     * @param year {@inheritDoc}
+     * @return {@inheritDoc}
+     */
+    @Override
+    public LocalDate compute(final int year) {
+        return base.compute(year);
+    }
+
+    /**
+     * Avoids evaluating the modifier when the base rule has no event for the year, and evaluates {@link Observances}
+     * without creating events.
+     * @param year {@inheritDoc}
+     * @return {@inheritDoc}
+     */
+    @Override
+    public long epochDay(final int year) {
+        final long day = base.epochDay(year);
+        if (day == NONE) {
+            return NONE;
+        } else if (modifier instanceof Observance observance) {
+            return observance.applies(day) ? observance.move(day) : day;
+        } else {
+            return Yearly.super.epochDay(year);
+        }
+    }
+
+    /**
+     * Returns the modified event, or the original event if the modifier returns empty. An event that one of the
+     * {@link Observances} would move outside the supported dates is dropped, as by {@link #epochDay(int)}.
+     * @param year {@inheritDoc}
+     * @return {@inheritDoc}
+     */
+    @Override
+    public Optional<Event> apply(final int year) {
+        final Optional<Event> original = base.apply(year);
+        if (original.isPresent() && modifier instanceof Observance observance) {
+            final long day = original.get().date().toEpochDay();
+            if (!observance.applies(day)) return original;
+            final long moved = observance.move(day);
+            return moved == NONE ? Optional.empty() : Optional.of(observance.moved(original.get(), moved));
+        } else if (original.isPresent()) {
+            final Optional<Event> modified = modifier.apply(original.get());
+            return modified.isPresent() ? modified : original;
+        } else {
+            return Optional.empty();
+        }
+    }
+}
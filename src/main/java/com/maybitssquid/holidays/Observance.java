@@ -0,0 +1,149 @@
+package com.maybitssquid.holidays;
+
+import java.time.DateTimeException;
+import java.time.LocalDate;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.function.UnaryOperator;
+
+/**
+ * Modifier built by {@link Observances}, described by a condition on the date of the original event and an action
+ * that moves it. Keeping the description as data lets {@link Plan} fuse chains of observances into a flat table.
+ */
+final class Observance implements Function<Event, Optional<Event>> {
+    /** Applies to every event. */
+    static final int ALWAYS = 0;
+    /** Applies to events on a Saturday. */
+    static final int SATURDAY = 1;
+    /** Applies to events on a Sunday. */
+    static final int SUNDAY = 2;
+    /** Applies to events on a Saturday or a Sunday. */
+    static final int WEEKEND = 3;
+    /** Applies to events on or after a day. */
+    static final int SINCE = 4;
+
+    /** Keeps the original event, including its name. */
+    static final int KEEP = 0;
+    /** Moves the event by a number of days. */
+    static final int OFFSET = 1;
+    /** Moves a Saturday event to Friday and a Sunday event to Monday. */
+    static final int NEAREST_WEEKDAY = 2;
+    /** Moves the event to the ordinal day of the week in its month. */
+    static final int NTH_WEEKDAY = 3;
+
+    final int condition;
+    final long since;
+    final int action;
+    final long offset;
+    final int ordinal;
+    final int dayOfWeek;
+    /**
+     * Most derived names kept by an observance. Rules and calendars give it a handful of original names, so this
+     * bound is only reached by observances applied to arbitrary events, whose names are then derived every time.
+     */
+    private static final int MAXIMUM_NAMES = 64;
+
+    private final UnaryOperator<String> name;
+
+    /**
+     * The derived name for each original name. A rule renames the same original name every year, and an observance
+     * is often shared by several rules, so this formats each derived name once and shares it between the events of
+     * every year.
+     */
+    private final ConcurrentHashMap<String, String> renamed = new ConcurrentHashMap<>();
+
+    private Observance(final int condition, final long since, final int action, final long offset,
+                       final int ordinal, final int dayOfWeek, final UnaryOperator<String> name) {
+        this.condition = condition;
+        this.since = since;
+        this.action = action;
+        this.offset = offset;
+        this.ordinal = ordinal;
+        this.dayOfWeek = dayOfWeek;
+        this.name = name == null ? UnaryOperator.identity() : name;
+    }
+
+    static Observance keep(final int condition, final long since) {
+        return new Observance(condition, since, KEEP, 0L, 0, 0, null);
+    }
+
+    static Observance offset(final int condition, final long offset, final UnaryOperator<String> name) {
+        return new Observance(condition, 0L, OFFSET, offset, 0, 0, name);
+    }
+
+    static Observance nearestWeekday(final UnaryOperator<String> name) {
+        return new Observance(WEEKEND, 0L, NEAREST_WEEKDAY, 0L, 0, 0, name);
+    }
+
+    static Observance nthWeekday(final int condition, final long since, final int ordinal, final int dayOfWeek,
+                                 final UnaryOperator<String> name) {
+        return new Observance(condition, since, NTH_WEEKDAY, 0L, ordinal, dayOfWeek, name);
+    }
+
+    /**
+     * Whether the observance applies to an event on the day.
+     */
+    boolean applies(final long day) {
+        return switch (condition) {
+            case ALWAYS -> true;
+            case SATURDAY -> Dates.dayOfWeek(day) == 6;
+            case SUNDAY -> Dates.dayOfWeek(day) == 7;
+            case WEEKEND -> Dates.dayOfWeek(day) >= 6;
+            case SINCE -> day >= since;
+            default -> throw new AssertionError("Unknown condition " + condition);
+        };
+    }
+
+    /**
+     * The day an event on the day is moved to, assuming the observance {@link #applies(long)}.
+     *
+     * @return the day moved to, or {@link Yearly#NONE} if it is outside the supported dates.
+     */
+    long move(final long day) {
+        final long moved = switch (action) {
+            case KEEP -> day;
+            case OFFSET -> day + offset;
+            case NEAREST_WEEKDAY -> Dates.dayOfWeek(day) == 6 ? day - 1 : day + 1;
+            case NTH_WEEKDAY -> {
+                final long civil = Dates.civil(day);
+                yield Dates.dayOfWeekInMonth(Dates.year(civil), Dates.month(civil), ordinal, dayOfWeek);
+            }
+            default -> throw new AssertionError("Unknown action " + action);
+        };
+        return Dates.isValidEpochDay(moved) ? moved : Yearly.NONE;
+    }
+
+    /**
+     * The event moved to a day returned by {@link #move(long)}.
+     */
+    Event moved(final Event e, final long day) {
+        return action == KEEP ? e : new Event(LocalDate.ofEpochDay(day), rename(e.name()));
+    }
+
+    /**
+     * The name of the generated event, given the name of the original event.
+     */
+    String rename(final String original) {
+        if (action == KEEP) return original;
+        final String known = renamed.get(original);
+        if (known != null) return known;
+        final String derived = name.apply(original);
+        if (renamed.size() < MAXIMUM_NAMES) {
+            final String raced = renamed.putIfAbsent(original, derived);
+            if (raced != null) return raced;
+        }
+        return derived;
+    }
+
+    @Override
+    public Optional<Event> apply(final Event e) {
+        final long day = e.date().toEpochDay();
+        if (!applies(day)) {
+            return Optional.empty();
+        }
+        final long moved = move(day);
+        if (moved == Yearly.NONE) throw new DateTimeException("Observed date is outside the supported dates");
+        return Optional.of(moved(e, moved));
+    }
+}
@@ -2,8 +2,6 @@ package com.maybitssquid.holidays;
 
 import java.time.DayOfWeek;
 import java.time.LocalDate;
-import java.time.temporal.TemporalAdjuster;
-import java.time.temporal.TemporalAdjusters;
 import java.util.Optional;
 import java.util.function.Function;
 import java.util.function.Predicate;
@@ -19,18 +17,18 @@ public class Observances {
     private Observances() {
     }
 
-    public static String OBSERVED_ANNOTATION_FORMAT = "$s (Observed)";
+    public static String OBSERVED_ANNOTATION_FORMAT = "%s (Observed)";
 
     /**
-     * Applies {@link #OBSERVED_ANNOTATION_FORMAT} to the event name to generate the observance event name.
+     * Applies {@link #OBSERVED_ANNOTATION_FORMAT} to the event name to generate the observance event name. Each
+     * observance applies it once per original name and reuses the result, so a change to the format only affects
+     * names an observance has not yet derived. Set the format before generating any events.
      */
     public static final UnaryOperator<String> OBSERVED_ANNOTATION =
             name -> String.format(OBSERVED_ANNOTATION_FORMAT, name);
 
     private static final Function<Event, Optional<Event>> offset(final UnaryOperator<String> name, final long offset) {
-        final TemporalAdjuster adjustment = TemporalAdjusters.ofDateAdjuster((d -> d.plusDays(offset)));
-        final UnaryOperator<String> n = name == null ? UnaryOperator.identity() : name;
-        return e -> Optional.of(new Event(e.date().with(adjustment), n.apply(e.name())));
+        return Observance.offset(Observance.ALWAYS, offset, name);
     }
 
     /**
@@ -52,8 +50,7 @@ public class Observances {
      * @see #OBSERVED_ANNOTATION
      */
     public static Function<Event, Optional<Event>> sundayToMonday(final UnaryOperator<String> annotation) {
-        final Function<Event, Optional<Event>> offset = offset(annotation, 1L);
-        return e -> DayOfWeek.SUNDAY.equals(e.date().getDayOfWeek()) ? offset.apply(e) : Optional.empty();
+        return Observance.offset(Observance.SUNDAY, 1L, annotation);
     }
 
     /**
@@ -63,8 +60,7 @@ public class Observances {
      * @see #OBSERVED_ANNOTATION
      */
     public static Function<Event, Optional<Event>> saturdayToFriday(final UnaryOperator<String> annotation) {
-        final Function<Event, Optional<Event>> offset = offset(annotation, -1L);
-        return e -> DayOfWeek.SATURDAY.equals(e.date().getDayOfWeek()) ? offset.apply(e) : Optional.empty();
+        return Observance.offset(Observance.SATURDAY, -1L, annotation);
     }
 
     /**
@@ -73,13 +69,7 @@ public class Observances {
      * @see #OBSERVED_ANNOTATION
      */
     public static Function<Event, Optional<Event>> weekendToWeekday(final UnaryOperator<String> annotation) {
-        final Function<Event, Optional<Event>> toMonday = offset(annotation, 1L);
-        final Function<Event, Optional<Event>> toFriday = offset(annotation, -1L);
-        return e -> switch (e.date().getDayOfWeek()) {
-            case SATURDAY -> toFriday.apply(e);
-            case SUNDAY -> toMonday.apply(e);
-            default -> Optional.empty();
-        };
+        return Observance.nearestWeekday(annotation);
     }
 
     /**
@@ -93,13 +83,11 @@ public class Observances {
     }
 
     public static Function<Event, Optional<Event>> observedSince(final LocalDate first) {
-        Predicate<Event> observe = since(first);
-        return e -> observe.test(e) ? Optional.of(e) : Optional.empty();
+        return Observance.keep(Observance.SINCE, first.toEpochDay());
     }
 
     public static Function<Event, Optional<Event>> nthWeekday(final UnaryOperator<String> name, final int ordinal, final DayOfWeek dayOfWeek) {
-        final TemporalAdjuster adjustment = TemporalAdjusters.dayOfWeekInMonth(ordinal, dayOfWeek);
-        return e -> Optional.of(new Event(e.date().with(adjustment), name.apply(e.name())));
+        return Observance.nthWeekday(Observance.ALWAYS, 0L, ordinal, dayOfWeek.getValue(), name);
     }
 
     public static Function<Event, Optional<Event>> nthWeekday(final int ordinal, final DayOfWeek dayOfWeek) {
@@ -107,9 +95,7 @@ public class Observances {
     }
 
     public static Function<Event, Optional<Event>> nthWeekday(final UnaryOperator<String> name, final LocalDate first, final int ordinal, final DayOfWeek dayOfWeek) {
-        Predicate<Event> observe = since(first);
-        Function<Event, Optional<Event>> generate = nthWeekday(name, ordinal, dayOfWeek);
-        return e -> observe.test(e) ? generate.apply(e) : Optional.empty();
+        return Observance.nthWeekday(Observance.SINCE, first.toEpochDay(), ordinal, dayOfWeek.getValue(), name);
     }
 
     public static Function<Event, Optional<Event>> nthWeekday(final LocalDate first, final int ordinal, final DayOfWeek dayOfWeek) {
@@ -0,0 +1,268 @@
+package com.maybitssquid.holidays;
+
+import java.time.LocalDate;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.Optional;
+import java.util.function.IntFunction;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+/**
+ * Yearly rules compiled into a flat table. Each rule that is an {@link EveryYear}, {@link Anniversary},
+ * {@link Floating} or {@link Easter}, optionally modified through {@link Yearly#with} by a chain of
+ * {@link Observances}, becomes a base operation followed by a run of steps, each a condition and an action on the
+ * epoch day. Evaluating a year is then a single loop over the table with no virtual calls, and the name for every
+ * combination of applied steps is computed once at compile time. Any other rule is kept and evaluated as is.
+ * <p>
+ * The events are the same, and in the same order, as {@link Holidays#generator} for the same rules.
+ */
+public final class Plan implements Events {
+    private static final int OPAQUE = 0;
+    private static final int ANNIVERSARY = 1;
+    private static final int NTH_WEEKDAY = 2;
+    private static final int EASTER = 3;
+
+    /**
+     * Longest chain of observances that is compiled, bounding the name table of a rule to 2<sup>n</sup> names.
+     */
+    private static final int MAX_STEPS = 8;
+
+    private final IntFunction<Optional<Event>>[] rules;
+    private final int[] base;
+    private final int[] month;
+    private final int[] dayOfMonth;
+    private final int[] ordinal;
+    private final int[] dayOfWeek;
+    private final long[] first;
+    private final long[] last;
+    private final Easter[] feasts;
+    private final int[] steps;
+    private final int[] condition;
+    private final long[] since;
+    private final int[] action;
+    private final long[] offset;
+    private final int[] stepOrdinal;
+    private final int[] stepDayOfWeek;
+    private final String[][] names;
+
+    private Plan(final IntFunction<Optional<Event>>[] rules) {
+        this.rules = rules.clone();
+        final int n = rules.length;
+        this.base = new int[n];
+        this.month = new int[n];
+        this.dayOfMonth = new int[n];
+        this.ordinal = new int[n];
+        this.dayOfWeek = new int[n];
+        this.first = new long[n];
+        this.last = new long[n];
+        this.feasts = new Easter[n];
+        this.steps = new int[n + 1];
+        this.names = new String[n][];
+        final Observance[][] chains = new Observance[n][];
+        int total = 0;
+        for (int r = 0; r < n; r++) {
+            chains[r] = analyse(r);
+            steps[r] = total;
+            total += chains[r].length;
+        }
+        steps[n] = total;
+        this.condition = new int[total];
+        this.since = new long[total];
+        this.action = new int[total];
+        this.offset = new long[total];
+        this.stepOrdinal = new int[total];
+        this.stepDayOfWeek = new int[total];
+        for (int r = 0; r < n; r++) {
+            for (int i = 0; i < chains[r].length; i++) {
+                final Observance o = chains[r][i];
+                final int s = steps[r] + i;
+                condition[s] = o.condition;
+                since[s] = o.since;
+                action[s] = o.action;
+                offset[s] = o.offset;
+                stepOrdinal[s] = o.ordinal;
+                stepDayOfWeek[s] = o.dayOfWeek;
+            }
+        }
+    }
+
+    /**
+     * Compiles yearly rules.
+     *
+     * @param rules generators for the yearly events.
+     * @return the compiled rules.
+     */
+    @SafeVarargs
+    @SuppressWarnings("varargs") // The plan copies the rules and only reads them
+    public static Plan compile(final IntFunction<Optional<Event>>... rules) {
+        return new Plan(rules);
+    }
+
+    /**
+     * Fills in the base operation and name table of a rule.
+     *
+     * @return the chain of observances applied to the base rule, in order of application.
+     */
+    private Observance[] analyse(final int r) {
+        final Deque<Observance> chain = new ArrayDeque<>();
+        IntFunction<Optional<Event>> rule = rules[r];
+        while (rule instanceof Modified modified && modified.modifier instanceof Observance observance) {
+            chain.addFirst(observance);
+            rule = modified.base;
+        }
+        final String name;
+        if (chain.size() > MAX_STEPS || rule instanceof Modified) {
+            name = null;
+        } else if (rule.getClass() == EveryYear.class) {
+            final EveryYear everyYear = (EveryYear) rule;
+            base[r] = ANNIVERSARY;
+            month[r] = everyYear.getDate().getMonthValue();
+            dayOfMonth[r] = everyYear.getDate().getDayOfMonth();
+            first[r] = Long.MIN_VALUE;
+            last[r] = Long.MAX_VALUE;
+            name = everyYear.getName();
+        } else if (rule.getClass() == Anniversary.class || rule.getClass() == Floating.class) {
+            final Anniversary anniversary = (Anniversary) rule;
+            base[r] = rule instanceof Floating ? NTH_WEEKDAY : ANNIVERSARY;
+            month[r] = anniversary.getEvent().date().getMonthValue();
+            dayOfMonth[r] = anniversary.getEvent().date().getDayOfMonth();
+            first[r] = anniversary.getFirstDay();
+            last[r] = anniversary.getLastDay();
+            if (rule instanceof Floating floating) {
+                ordinal[r] = floating.getOrdinal();
+                dayOfWeek[r] = floating.getDayOfWeek();
+            }
+            name = anniversary.getObservedAs();
+        } else if (rule instanceof Easter easter) {
+            base[r] = EASTER;
+            feasts[r] = easter;
+            first[r] = Long.MIN_VALUE;
+            last[r] = Long.MAX_VALUE;
+            name = easter.getName();
+        } else {
+            name = null;
+        }
+        if (name == null) {
+            base[r] = OPAQUE;
+            return new Observance[0];
+        }
+        final Observance[] compiled = chain.toArray(new Observance[0]);
+        names[r] = new String[1 << compiled.length];
+        for (int applied = 0; applied < names[r].length; applied++) {
+            String renamed = name;
+            for (int i = 0; i < compiled.length; i++) {
+                if ((applied & (1 << i)) != 0) {
+                    renamed = compiled[i].rename(renamed);
+                }
+            }
+            names[r][applied] = renamed;
+        }
+        return compiled;
+    }
+
+    /**
+     * @return the number of rules, which is the most events a year can have.
+     */
+    public int size() {
+        return rules.length;
+    }
+
+    /**
+     * Evaluates every rule for a year without creating events.
+     *
+     * @param year  the year to generate the events for.
+     * @param days  receives the epoch day of each event, and must have room for {@link #size()} events.
+     * @param names receives the name of each event, and must have room for {@link #size()} events.
+     * @return the number of events, which are sorted by date and name.
+     */
+    public int evaluate(final int year, final long[] days, final String[] names) {
+        final boolean valid = Dates.isValidYear(year);
+        int count = 0;
+        for (int r = 0; r < rules.length; r++) {
+            long day;
+            switch (base[r]) {
+                case ANNIVERSARY -> day = valid ? Dates.anniversary(year, month[r], dayOfMonth[r]) : Yearly.NONE;
+                case NTH_WEEKDAY -> day = valid
+                        ? Dates.dayOfWeekInMonth(year, month[r], ordinal[r], dayOfWeek[r])
+                        : Yearly.NONE;
+                case EASTER -> day = feasts[r].epochDay(year);
+                default -> {
+                    final Optional<Event> event = rules[r].apply(year);
+                    if (event.isPresent()) {
+                        count = EventTable.insert(days, names, count,
+                                event.get().date().toEpochDay(), event.get().name());
+                    }
+                    continue;
+                }
+            }
+            if (day == Yearly.NONE || day < first[r] || day > last[r] || !Dates.isValidEpochDay(day)) continue;
+            int applied = 0;
+            for (int s = steps[r]; s < steps[r + 1]; s++) {
+                final int dow = Dates.dayOfWeek(day);
+                final boolean applies = switch (condition[s]) {
+                    case Observance.SATURDAY -> dow == 6;
+                    case Observance.SUNDAY -> dow == 7;
+                    case Observance.WEEKEND -> dow >= 6;
+                    case Observance.SINCE -> day >= since[s];
+                    default -> true;
+                };
+                if (applies) {
+                    switch (action[s]) {
+                        case Observance.OFFSET -> day += offset[s];
+                        case Observance.NEAREST_WEEKDAY -> day += dow == 6 ? -1 : 1;
+                        case Observance.NTH_WEEKDAY -> {
+                            final long civil = Dates.civil(day);
+                            day = Dates.dayOfWeekInMonth(Dates.year(civil), Dates.month(civil),
+                                    stepOrdinal[s], stepDayOfWeek[s]);
+                        }
+                        default -> {
+                        }
+                    }
+                    // An event moved outside the supported dates is dropped, as by the observance itself
+                    if (!Dates.isValidEpochDay(day)) break;
+                    applied |= 1 << (s - steps[r]);
+                }
+            }
+            if (!Dates.isValidEpochDay(day)) continue;
+            count = EventTable.insert(days, names, count, day, this.names[r][applied]);
+        }
+        return count;
+    }
+
+    /**
+     * The events for a year.
+     *
+     * @param year the year to generate the events for.
+     * @return the events, sorted by date and name.
+     */
+    public Event[] events(final int year) {
+        final long[] days = new long[rules.length];
+        final String[] names = new String[rules.length];
+        final int count = evaluate(year, days, names);
+        final Event[] events = new Event[count];
+        for (int i = 0; i < count; i++) {
+            events[i] = new Event(LocalDate.ofEpochDay(days[i]), names[i]);
+        }
+        return events;
+    }
+
+    /**
+     * The events for a year, held in columns.
+     *
+     * @param year the year to generate the events for.
+     * @return the events, sorted by date and name.
+     */
+    @Override
+    public EventTable table(final int year) {
+        final long[] days = new long[rules.length];
+        final String[] names = new String[rules.length];
+        return EventTable.sorted(days, names, evaluate(year, days, names));
+    }
+
+    @Override
+    public Stream<Event> apply(final IntStream years) {
+        return years.mapToObj(this::events).flatMap(Arrays::stream);
+    }
+}
@@ -0,0 +1,81 @@
+package com.maybitssquid.holidays;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+/**
+ * Compiled rules that can be replaced while in use. Each query reads the current {@link Plan} once and answers from
+ * it, so readers never lock or wait, and a query that overlaps a reload sees either the old rules or the new ones,
+ * never a mixture. A reload compiles the new rules before publishing them, so a file that fails to parse leaves the
+ * current rules in place.
+ *
+ * @see RuleFile
+ */
+public class ReloadableCalendar implements Events {
+    private volatile Plan plan;
+
+    /**
+     * @param plan the initial rules.
+     */
+    public ReloadableCalendar(final Plan plan) {
+        if (plan == null) throw new IllegalArgumentException("Missing rules for calendar");
+        this.plan = plan;
+    }
+
+    /**
+     * Calendar of the rules in a file.
+     *
+     * @param path the file, in the format of {@link RuleFile}.
+     * @return the calendar.
+     * @throws IOException if the file cannot be read or the rules are not valid.
+     */
+    public static ReloadableCalendar load(final Path path) throws IOException {
+        return new ReloadableCalendar(RuleFile.compile(path));
+    }
+
+    /**
+     * @return the current rules.
+     */
+    public Plan getPlan() {
+        return plan;
+    }
+
+    /**
+     * Replaces the rules.
+     *
+     * @param plan the new rules.
+     */
+    public void setPlan(final Plan plan) {
+        if (plan == null) throw new IllegalArgumentException("Missing rules for calendar");
+        this.plan = plan;
+    }
+
+    /**
+     * Replaces the rules with those in a file.
+     *
+     * @param path the file, in the format of {@link RuleFile}.
+     * @throws IOException if the file cannot be read or the rules are not valid, in which case the rules are not
+     *                     replaced.
+     */
+    public void reload(final Path path) throws IOException {
+        setPlan(RuleFile.compile(path));
+    }
+
+    @Override
+    public Stream<Event> apply(final IntStream years) {
+        return plan.apply(years);
+    }
+
+    @Override
+    public Stream<Event> between(final LocalDate from, final LocalDate toExclusive) {
+        return plan.between(from, toExclusive);
+    }
+
+    @Override
+    public EventTable table(final int year) {
+        return plan.table(year);
+    }
+}
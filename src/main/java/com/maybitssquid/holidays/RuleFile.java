@@ -0,0 +1,252 @@
+package com.maybitssquid.holidays;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.DateTimeException;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.Month;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.function.IntFunction;
+
+/**
+ * Yearly rules defined in a text file, parsed into {@link EveryYear}, {@link Anniversary} and {@link Floating} rules
+ * modified by {@link Observances}, so they compile into a {@link Plan} like rules written in Java. Each line defines
+ * one rule as a name, an equals sign, a date and any modifiers, each separated by a semicolon:
+ * <pre>
+ *   # Blank lines and lines starting with # are ignored
+ *   New Year's Day = January 1; from 1870-06-28; observed weekend
+ *   Memorial Day = -1 Monday May
+ *   Washington's Birthday = 3 Monday February; from 1879-02-22
+ *   Christmas Day = December 25
+ *   Boxing Day = +1 Christmas Day; observed weekend
+ *   Easter Sunday = Easter
+ *   Good Friday = -2 Easter Sunday
+ * </pre>
+ * The date is one of:
+ * <ul>
+ *   <li>a month and day of the month, for a fixed date;</li>
+ *   <li>an ordinal from 1 to 5, a day of the week and a month, for the nth weekday of the month as {@link Floating},
+ *   with ordinals from -1 to -5 counting from the end of the month;</li>
+ *   <li>{@code Easter} or {@code Julian Easter}, for Easter Sunday by the Gregorian or Julian {@link Easter.Computus};
+ *   </li>
+ *   <li>a signed number of days and the name of a rule defined earlier in the file, for a date offset from it, which
+ *   may itself be offset from another rule.</li>
+ * </ul>
+ * The modifiers are {@code from} and {@code until}, the first and last dates of the rule's own event, before any
+ * observance moves it, and {@code observed weekend}, {@code observed saturday} or {@code observed sunday}, which move
+ * the event to the nearest weekday as {@link Observances#OBSERVED_ANNOTATION}. A rule offset from another is only
+ * observed in the years the other is, so it also keeps the other's {@code from} and {@code until}.
+ */
+public final class RuleFile {
+    /**
+     * Leap year used for the original event of a rule, so that every month and day is valid.
+     */
+    private static final int LEAP_YEAR = 2000;
+
+    /**
+     * Easter Sunday when the computus is not null, otherwise a fixed date when the day of the week is null, otherwise
+     * the nth weekday of the month, moved by a number of days. The offset is the total along a chain of rules offset
+     * from one another. The first and last days bound the base date, before it is moved, so that the bounds of every
+     * rule along the chain apply the same way whatever the kind of base.
+     */
+    private record Base(Month month, int dayOfMonth, int ordinal, DayOfWeek dayOfWeek, Easter.Computus computus,
+                        long offset, long firstDay, long lastDay) {
+        private Base(final Month month, final int dayOfMonth, final int ordinal, final DayOfWeek dayOfWeek,
+                     final Easter.Computus computus) {
+            this(month, dayOfMonth, ordinal, dayOfWeek, computus, 0L, Long.MIN_VALUE, Long.MAX_VALUE);
+        }
+
+        /**
+         * The base moved by a number of days, keeping the bounds of the rule it is moved from.
+         */
+        private Base plus(final long days) {
+            return new Base(month, dayOfMonth, ordinal, dayOfWeek, computus, Math.addExact(offset, days),
+                    firstDay, lastDay);
+        }
+
+        /**
+         * The base limited to years in which the moved date falls between two dates.
+         */
+        private Base within(final LocalDate from, final LocalDate until) {
+            final long first = from == null ? firstDay
+                    : Math.max(firstDay, Math.subtractExact(from.toEpochDay(), offset));
+            final long last = until == null ? lastDay
+                    : Math.min(lastDay, Math.subtractExact(until.toEpochDay(), offset));
+            return new Base(month, dayOfMonth, ordinal, dayOfWeek, computus, offset, first, last);
+        }
+
+        private boolean isBounded() {
+            return firstDay != Long.MIN_VALUE || lastDay != Long.MAX_VALUE;
+        }
+    }
+
+    private RuleFile() {
+    }
+
+    /**
+     * Parses rules.
+     *
+     * @param reader the rules.
+     * @return the rules, in the order defined.
+     * @throws IOException if the rules cannot be read or are not valid.
+     */
+    public static Yearly[] parse(final Reader reader) throws IOException {
+        final BufferedReader lines = reader instanceof BufferedReader b ? b : new BufferedReader(reader);
+        final List<Yearly> rules = new ArrayList<>();
+        final Map<String, Base> defined = new HashMap<>();
+        String line;
+        int number = 0;
+        while ((line = lines.readLine()) != null) {
+            number++;
+            line = line.strip();
+            if (line.isEmpty() || line.startsWith("#")) continue;
+            try {
+                rules.add(rule(line, defined));
+            } catch (IllegalArgumentException | DateTimeException | ArithmeticException e) {
+                throw new IOException("Line " + number + ": " + e.getMessage(), e);
+            }
+        }
+        return rules.toArray(new Yearly[0]);
+    }
+
+    /**
+     * Reads rules from a UTF-8 file.
+     *
+     * @param path the file.
+     * @return the rules, in the order defined.
+     * @throws IOException if the file cannot be read or the rules are not valid.
+     */
+    public static Yearly[] read(final Path path) throws IOException {
+        try (Reader reader = Files.newBufferedReader(path, StandardCharsets.UTF_8)) {
+            return parse(reader);
+        }
+    }
+
+    /**
+     * Reads rules from a UTF-8 file and compiles them.
+     *
+     * @param path the file.
+     * @return the compiled rules.
+     * @throws IOException if the file cannot be read or the rules are not valid.
+     */
+    public static Plan compile(final Path path) throws IOException {
+        final IntFunction<Optional<Event>>[] rules = read(path);
+        return Plan.compile(rules);
+    }
+
+    private static Yearly rule(final String line, final Map<String, Base> defined) {
+        final int equals = line.indexOf('=');
+        if (equals < 0) throw new IllegalArgumentException("Missing = after rule name");
+        final String name = line.substring(0, equals).strip();
+        if (name.isEmpty()) throw new IllegalArgumentException("Missing rule name");
+        if (defined.containsKey(name)) throw new IllegalArgumentException("Duplicate rule " + name);
+        final String[] clauses = line.substring(equals + 1).split(";");
+        final String[] date = clauses[0].strip().split("\\s+");
+
+        LocalDate from = null;
+        LocalDate until = null;
+        final List<Function<Event, Optional<Event>>> modifiers = new ArrayList<>();
+        for (int i = 1; i < clauses.length; i++) {
+            final String[] clause = clauses[i].strip().split("\\s+");
+            if (clause.length != 2) throw new IllegalArgumentException("Unknown modifier " + clauses[i].strip());
+            switch (clause[0].toLowerCase(Locale.ROOT)) {
+                case "from" -> from = LocalDate.parse(clause[1]);
+                case "until" -> until = LocalDate.parse(clause[1]);
+                case "observed" -> modifiers.add(switch (clause[1].toLowerCase(Locale.ROOT)) {
+                    case "weekend" -> Observances.weekendToWeekday(Observances.OBSERVED_ANNOTATION);
+                    case "saturday" -> Observances.saturdayToFriday(Observances.OBSERVED_ANNOTATION);
+                    case "sunday" -> Observances.sundayToMonday(Observances.OBSERVED_ANNOTATION);
+                    default -> throw new IllegalArgumentException("Unknown observance " + clause[1]);
+                });
+                default -> throw new IllegalArgumentException("Unknown modifier " + clause[0]);
+            }
+        }
+
+        final Base unbounded;
+        if (clauses[0].strip().equalsIgnoreCase("Easter")) {
+            unbounded = new Base(null, 0, 0, null, Easter.Computus.GREGORIAN);
+        } else if (clauses[0].strip().equalsIgnoreCase("Julian Easter")) {
+            unbounded = new Base(null, 0, 0, null, Easter.Computus.JULIAN);
+        } else if (date.length == 2 && month(date[0]) != null) {
+            unbounded = new Base(month(date[0]), Integer.parseInt(date[1]), 0, null, null);
+        } else if (date.length == 3 && dayOfWeek(date[1]) != null && month(date[2]) != null) {
+            final int ordinal = Integer.parseInt(date[0]);
+            if (ordinal == 0 || Math.abs(ordinal) > 5) {
+                throw new IllegalArgumentException("Ordinal must be 1 to 5, or -1 to -5 from the end of the month");
+            }
+            unbounded = new Base(month(date[2]), 1, ordinal, dayOfWeek(date[1]), null);
+        } else if (date.length >= 2 && (date[0].startsWith("+") || date[0].startsWith("-"))) {
+            final String other = clauses[0].strip().substring(date[0].length()).strip();
+            final Base referenced = defined.get(other);
+            if (referenced == null) throw new IllegalArgumentException("Unknown rule " + other);
+            unbounded = referenced.plus(Long.parseLong(date[0]));
+        } else {
+            throw new IllegalArgumentException("Unknown date " + clauses[0].strip());
+        }
+        final Base base = unbounded.within(from, until);
+        defined.put(name, base);
+
+        Yearly rule = yearly(name, base);
+        if (base.offset() != 0L && base.computus() == null) {
+            rule = rule.with(Observances.related(name, base.offset()));
+        }
+        for (Function<Event, Optional<Event>> modifier : modifiers) {
+            rule = rule.with(modifier);
+        }
+        return rule;
+    }
+
+    private static Yearly yearly(final String name, final Base base) {
+        final LocalDate first = base.firstDay() == Long.MIN_VALUE ? LocalDate.MIN : date(base.firstDay());
+        final LocalDate last = base.lastDay() == Long.MAX_VALUE ? null : date(base.lastDay());
+        if (base.computus() != null) {
+            // The feast is bounded on its own date, which is the base date moved by the offset
+            return new Easter(name, base.computus(), base.offset(),
+                    base.firstDay() == Long.MIN_VALUE ? null : date(base.firstDay() + base.offset()),
+                    last == null ? null : date(base.lastDay() + base.offset()));
+        } else if (base.dayOfWeek() != null) {
+            return new Floating(new Event(LocalDate.of(LEAP_YEAR, base.month(), 1), name), null,
+                    first, last, base.ordinal(), base.dayOfWeek());
+        } else if (!base.isBounded()) {
+            return new EveryYear(name, base.month(), base.dayOfMonth());
+        } else {
+            return new Anniversary(new Event(LocalDate.of(LEAP_YEAR, base.month(), base.dayOfMonth()), name), null,
+                    first, last);
+        }
+    }
+
+    /**
+     * The date of an epoch day, clamped to the supported dates.
+     */
+    private static LocalDate date(final long epochDay) {
+        return LocalDate.ofEpochDay(Math.max(LocalDate.MIN.toEpochDay(),
+                Math.min(LocalDate.MAX.toEpochDay(), epochDay)));
+    }
+
+    private static Month month(final String token) {
+        try {
+            return Month.valueOf(token.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    private static DayOfWeek dayOfWeek(final String token) {
+        try {
+            return DayOfWeek.valueOf(token.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,329 @@
+package com.maybitssquid.holidays;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+/**
+ * Compiled events shared between processes on one host through a memory mapped file, typically under
+ * {@code /dev/shm}. One process publishes snapshots in the {@link CalendarFile} format, and any number of processes
+ * map the file read only and look up holidays in it directly, without building the calendar themselves.
+ * <p>
+ * The file has a fixed capacity and is updated in place under a sequence lock:
+ * <pre>
+ *   int     magic, "HOLS"
+ *   int     version
+ *   long    sequence, odd while a snapshot is being written
+ *   int     capacity for the snapshot
+ *   int     length of the snapshot, zero until one is published
+ *   long    reserved
+ *   byte[]  snapshot, in the format of {@link CalendarFile}
+ * </pre>
+ * A publisher makes the sequence odd, writes the snapshot and makes the sequence even again. A reader notes the
+ * sequence before a lookup and checks it is unchanged and even afterwards, retrying otherwise, so it never acts on a
+ * torn update. Readers back off while a snapshot is being written, and fail after {@link #STALLED_NANOS} if a
+ * publisher died part way through; the next publication repairs the file.
+ * <p>
+ * Publishers in different processes are serialized by a lock on the file. A file lock is held by the whole JVM, so
+ * publishers within one process, whether threads sharing an instance or separate instances for the same file, are
+ * first serialized by a lock kept for each file's real path. Regenerate a calendar by publishing to the same file,
+ * since readers keep the mapping they opened.
+ */
+public final class SharedCalendar implements Events, Closeable {
+    static final int MAGIC = 0x484F4C53;
+    static final int VERSION = 1;
+    private static final int SEQUENCE_AT = 8;
+    private static final int CAPACITY_AT = 16;
+    private static final int LENGTH_AT = 20;
+    private static final int HEADER = 32;
+
+    /**
+     * How long a reader waits for a snapshot being written before giving up on the publisher.
+     */
+    public static final long STALLED_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+    /**
+     * Retries a reader spins for before backing off.
+     */
+    private static final int SPINS = 100;
+
+    /**
+     * Longest back off between retries.
+     */
+    private static final long MAXIMUM_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+
+    /**
+     * Lock serializing the publishers in this process for each file, by real path, before they take the file lock.
+     */
+    private static final ConcurrentHashMap<Path, ReentrantLock> PUBLISHERS = new ConcurrentHashMap<>();
+
+    private static final VarHandle LONGS = MethodHandles.byteBufferViewVarHandle(long[].class, ByteOrder.BIG_ENDIAN);
+
+    /**
+     * Lookup view of the snapshot published under a sequence, or no events if none has been published.
+     */
+    private record View(long sequence, CalendarFile file) {
+    }
+
+    private final MappedByteBuffer region;
+    private final FileChannel channel;
+    private final ReentrantLock publishers;
+    private final int capacity;
+    private volatile View view = new View(-1L, null);
+
+    private SharedCalendar(final MappedByteBuffer region, final FileChannel channel, final ReentrantLock publishers)
+            throws IOException {
+        if (region.capacity() < HEADER || region.getInt(0) != MAGIC) {
+            throw new IOException("Not a shared calendar file");
+        }
+        if (region.getInt(4) != VERSION) {
+            throw new IOException("Unsupported shared calendar file version " + region.getInt(4));
+        }
+        this.region = region;
+        this.channel = channel;
+        this.publishers = publishers;
+        this.capacity = region.getInt(CAPACITY_AT);
+        if (capacity < 0 || HEADER + (long) capacity > region.capacity()) {
+            throw new IOException("Truncated shared calendar file");
+        }
+    }
+
+    /**
+     * Maps a shared calendar read only.
+     *
+     * @param path the file to map.
+     * @return the shared calendar.
+     * @throws IOException if the file cannot be mapped or is not a shared calendar file.
+     */
+    public static SharedCalendar open(final Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            return new SharedCalendar(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()), null, null);
+        }
+    }
+
+    /**
+     * Maps a shared calendar for publishing, creating the file if it does not exist. An existing shared calendar is
+     * reused as it is, so that its readers carry on seeing each new snapshot.
+     *
+     * @param path     the file to map.
+     * @param capacity the most bytes a snapshot may take, for a new file.
+     * @return the shared calendar.
+     * @throws IOException if the file cannot be mapped, or exists and is neither empty nor a shared calendar file.
+     */
+    public static SharedCalendar create(final Path path, final int capacity) throws IOException {
+        if (capacity < 0) throw new IllegalArgumentException("Capacity must not be negative");
+        final FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE);
+        try {
+            final ReentrantLock publishers = PUBLISHERS.computeIfAbsent(path.toRealPath(), p -> new ReentrantLock());
+            publishers.lock();
+            try {
+                final FileLock lock = channel.lock();
+                try {
+                    final long size = channel.size();
+                    final MappedByteBuffer region;
+                    if (size == 0) {
+                        region = channel.map(FileChannel.MapMode.READ_WRITE, 0, HEADER + (long) capacity);
+                        region.putInt(0, MAGIC).putInt(4, VERSION).putInt(CAPACITY_AT, capacity)
+                                .putInt(LENGTH_AT, 0);
+                        LONGS.setVolatile(region, SEQUENCE_AT, 0L);
+                    } else {
+                        region = channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+                    }
+                    return new SharedCalendar(region, channel, publishers);
+                } finally {
+                    lock.release();
+                }
+            } finally {
+                publishers.unlock();
+            }
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Compiles the events for a range of years and publishes them, replacing the current snapshot. Publishers of the
+     * same file, in this process or another, take turns.
+     *
+     * @param events    generator for the events.
+     * @param firstYear first year of the range, inclusive.
+     * @param lastYear  last year of the range, inclusive.
+     * @throws IOException if the calendar was opened read only, or the snapshot does not fit.
+     */
+    public void publish(final Function<IntStream, Stream<Event>> events, final int firstYear, final int lastYear)
+            throws IOException {
+        if (channel == null) throw new IOException("Shared calendar is open read only");
+        final ByteBuffer encoded = CalendarFile.encode(events, firstYear, lastYear);
+        final int length = encoded.remaining();
+        if (length > capacity) {
+            throw new IOException("Snapshot of " + length + " bytes exceeds capacity of " + capacity);
+        }
+        publishers.lock();
+        try {
+            final FileLock lock = channel.lock();
+            try {
+                // An odd sequence here was left by a publisher that failed part way through
+                final long writing = (long) LONGS.getVolatile(region, SEQUENCE_AT) | 1L;
+                LONGS.setVolatile(region, SEQUENCE_AT, writing);
+                // Keep the plain stores of the snapshot from being reordered before the odd sequence
+                VarHandle.storeStoreFence();
+                region.put(HEADER, encoded, encoded.position(), length);
+                region.putInt(LENGTH_AT, length);
+                LONGS.setVolatile(region, SEQUENCE_AT, writing + 1);
+            } finally {
+                lock.release();
+            }
+        } finally {
+            publishers.unlock();
+        }
+    }
+
+    /**
+     * @return the sequence of the current snapshot, which is even unless a snapshot is being written.
+     */
+    public long getSequence() {
+        return (long) LONGS.getVolatile(region, SEQUENCE_AT);
+    }
+
+    /**
+     * Whether at least one event falls on the date.
+     *
+     * @param date the date to check.
+     * @return whether the date is a holiday.
+     * @throws IllegalStateException if a publisher stopped part way through a snapshot.
+     */
+    public boolean isHoliday(final LocalDate date) {
+        return isHoliday(date.toEpochDay());
+    }
+
+    /**
+     * Whether at least one event falls on the day, looked up directly in the shared file.
+     *
+     * @param epochDay the day to check, counted from 1970-01-01.
+     * @return whether the day is a holiday.
+     * @throws IllegalStateException if a publisher stopped part way through a snapshot.
+     */
+    public boolean isHoliday(final long epochDay) {
+        final long start = System.nanoTime();
+        for (int attempt = 0; ; attempt++) {
+            final long before = getSequence();
+            if ((before & 1L) == 0L) {
+                try {
+                    final CalendarFile file = view(before).file();
+                    final boolean found = file != null && file.isHoliday(epochDay);
+                    VarHandle.acquireFence();
+                    if (getSequence() == before) return found;
+                } catch (IOException | RuntimeException e) {
+                    // Read part of a snapshot being written, so try again
+                }
+            }
+            backOff(attempt, start);
+        }
+    }
+
+    /**
+     * A private copy of the current snapshot, which later publications do not affect.
+     *
+     * @return the events, or empty if none have been published.
+     * @throws IllegalStateException if a publisher stopped part way through a snapshot.
+     */
+    public Events snapshot() {
+        final long start = System.nanoTime();
+        for (int attempt = 0; ; attempt++) {
+            final long before = getSequence();
+            if ((before & 1L) == 0L) {
+                try {
+                    final int length = region.getInt(LENGTH_AT);
+                    if (length < 0 || length > capacity) throw new IOException("Torn snapshot length");
+                    final byte[] copy = new byte[length];
+                    region.get(HEADER, copy);
+                    VarHandle.acquireFence();
+                    if (getSequence() == before) {
+                        return length == 0 ? years -> Stream.empty() : new CalendarFile(ByteBuffer.wrap(copy));
+                    }
+                } catch (IOException | RuntimeException e) {
+                    // Read part of a snapshot being written, so try again
+                }
+            }
+            backOff(attempt, start);
+        }
+    }
+
+    /**
+     * Events of the current snapshot in the given years, from a private copy of it.
+     * @param years {@inheritDoc}
+     * @return {@inheritDoc}
+     */
+    @Override
+    public Stream<Event> apply(final IntStream years) {
+        return snapshot().apply(years);
+    }
+
+    /**
+     * Events of the current snapshot within a range of dates, from a private copy of it.
+     * @param from {@inheritDoc}
+     * @param toExclusive {@inheritDoc}
+     * @return {@inheritDoc}
+     */
+    @Override
+    public Stream<Event> between(final LocalDate from, final LocalDate toExclusive) {
+        return snapshot().between(from, toExclusive);
+    }
+
+    /**
+     * Releases the file held open for publishing. The mapping stays valid until it is garbage collected.
+     */
+    @Override
+    public void close() throws IOException {
+        if (channel != null) channel.close();
+    }
+
+    /**
+     * Waits before a reader retries, spinning at first and then parking for longer each time.
+     *
+     * @throws IllegalStateException if the reader has waited {@link #STALLED_NANOS}, as happens when a publisher
+     *                               stops part way through a snapshot.
+     */
+    private static void backOff(final int attempt, final long start) {
+        if (attempt < SPINS) {
+            Thread.onSpinWait();
+        } else if (System.nanoTime() - start > STALLED_NANOS) {
+            throw new IllegalStateException("Shared calendar snapshot could not be read within "
+                    + TimeUnit.NANOSECONDS.toMillis(STALLED_NANOS) + "ms");
+        } else {
+            LockSupport.parkNanos(Math.min(1000L << Math.min(attempt - SPINS, 10), MAXIMUM_PARK_NANOS));
+        }
+    }
+
+    /**
+     * The view of the snapshot under a sequence, replacing the previous view if the sequence has moved on. A view
+     * built from a torn read is discarded once the reader finds the sequence has changed.
+     */
+    private View view(final long sequence) throws IOException {
+        final View current = view;
+        if (current.sequence() == sequence) return current;
+        final int length = region.getInt(LENGTH_AT);
+        if (length < 0 || length > capacity) throw new IOException("Torn snapshot length");
+        final View next = new View(sequence, length == 0 ? null : new CalendarFile(region.slice(HEADER, length)));
+        view = next;
+        return next;
+    }
+}
@@ -0,0 +1,151 @@
+package com.maybitssquid.holidays;
+
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+import java.util.function.IntFunction;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+/**
+ * Events for a bounded number of recently used years. Each cached year is kept as an immutable sorted array that is
+ * streamed directly, so a hit neither evaluates the yearly rules nor sorts. Reads do not lock and are safe from any
+ * number of threads.
+ * <p>
+ * Many threads hitting the same few years share nothing they write to but the hit counter. Years are first looked up
+ * by their low bits in a small table, so a range of consecutive years no larger than the table is found without
+ * boxing. The clock used to find the least recently used years only advances on a miss, and a hit only stamps its year
+ * once after each miss. When a miss takes the cache over its maximum size, the least recently used years are evicted
+ * in a batch, so the scan for them is shared by the misses that follow.
+ */
+public class YearCache implements Events {
+    /**
+     * Most years held by the table of recent years.
+     */
+    private static final int MAXIMUM_SLOTS = 1024;
+
+    private static final class Entry {
+        private final int year;
+        private final Event[] events;
+        private volatile long used;
+
+        private Entry(final int year, final Event[] events, final long used) {
+            this.year = year;
+            this.events = events;
+            this.used = used;
+        }
+    }
+
+    private final IntFunction<Event[]> generator;
+    private final int maximumYears;
+    private final ConcurrentHashMap<Integer, Entry> years;
+    /**
+     * Cached years by their low bits. Entries are immutable apart from their stamp, so they are safely shared through
+     * plain writes, and a reader racing an eviction may at worst use a year that has just been evicted.
+     */
+    private final Entry[] slots;
+    private final int mask;
+    private final AtomicLong clock = new AtomicLong();
+    private final ReentrantLock evicting = new ReentrantLock();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    /**
+     * @param generator    generator for the sorted events of a year.
+     * @param maximumYears the most years to keep.
+     * @see Holidays#yearly
+     */
+    public YearCache(final IntFunction<Event[]> generator, final int maximumYears) {
+        if (generator == null) throw new IllegalArgumentException("Missing generator for cache");
+        if (maximumYears < 1) throw new IllegalArgumentException("Cache must hold at least one year");
+        this.generator = generator;
+        this.maximumYears = maximumYears;
+        this.years = new ConcurrentHashMap<>(Math.min(maximumYears, 1024) * 2);
+        this.slots = new Entry[Math.max(1, Integer.highestOneBit(Math.min(maximumYears, MAXIMUM_SLOTS) - 1) << 1)];
+        this.mask = slots.length - 1;
+    }
+
+    /**
+     * The events for a year.
+     *
+     * @param year the year to generate the events for.
+     * @return the events in the year, sorted by date and name.
+     */
+    public Stream<Event> events(final int year) {
+        final long now = clock.get();
+        Entry entry = slots[year & mask];
+        if (entry == null || entry.year != year) {
+            entry = years.get(year);
+        }
+        if (entry != null) {
+            hits.increment();
+            if (entry.used < now) {
+                entry.used = now;
+            }
+        } else {
+            misses.increment();
+            final Entry generated = new Entry(year, generator.apply(year), clock.incrementAndGet());
+            entry = years.putIfAbsent(year, generated);
+            if (entry == null) {
+                entry = generated;
+                slots[year & mask] = generated;
+                evict();
+            }
+        }
+        return Arrays.stream(entry.events);
+    }
+
+    @Override
+    public Stream<Event> apply(final IntStream years) {
+        return years.mapToObj(this::events).flatMap(Function.identity());
+    }
+
+    public long getHits() {
+        return hits.sum();
+    }
+
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    public int size() {
+        return years.size();
+    }
+
+    /**
+     * Evicts the least recently used years, down to seven eighths of the maximum. A thread that finds another
+     * evicting leaves it to that thread, which checks the size again once it is done.
+     */
+    private void evict() {
+        while (years.size() > maximumYears && evicting.tryLock()) {
+            try {
+                final Entry[] entries = years.values().toArray(new Entry[0]);
+                final int excess = entries.length - (maximumYears - maximumYears / 8);
+                if (excess <= 0) continue;
+                // Stamps are read once, since hits may restamp entries during the eviction
+                final long[] used = new long[entries.length];
+                for (int i = 0; i < entries.length; i++) {
+                    used[i] = entries[i].used;
+                }
+                final long[] sorted = used.clone();
+                Arrays.sort(sorted);
+                final long newest = sorted[excess - 1];
+                int evicted = 0;
+                for (int i = 0; i < entries.length && evicted < excess; i++) {
+                    final Entry entry = entries[i];
+                    if (used[i] <= newest && years.remove(entry.year, entry)) {
+                        evicted++;
+                        if (slots[entry.year & mask] == entry) {
+                            slots[entry.year & mask] = null;
+                        }
+                    }
+                }
+            } finally {
+                evicting.unlock();
+            }
+        }
+    }
+}
@@ -9,6 +9,16 @@ import java.util.function.IntFunction;
  * Event that occurs at most yearly.
  */
 public interface Yearly extends IntFunction<Optional<Event>> {
+    /**
+     * Sentinel returned by {@link #epochDay(int)} for a year with no event.
+     */
+    long NONE = Long.MIN_VALUE;
+
+    /**
+     * Mask returned by {@link #months()} for an event that may fall in any month, including months of adjacent years.
+     */
+    int ALL_MONTHS = 0xFFF;
+
     /**
      * Compute the date given the year. This method is expected to compute only the raw date, without considering
      * whether the resulting date falls outside valid ranges. For example, it may compute an anniversary date that
@@ -20,34 +30,62 @@ public interface Yearly extends IntFunction<Optional<Event>> {
      */
     LocalDate compute(int year);
 
+    /**
+     * Primitive form of {@link #apply(int)}, giving the day of the event without boxing. Implementations are expected
+     * to compute the day arithmetically, so that neither objects nor exceptions are created. The default adapts
+     * {@link #apply(int)}.
+     *
+     * @param year the year to generate the event for.
+     * @return the epoch day of the event, or {@link #NONE} if there is no event in the year.
+     * @see LocalDate#toEpochDay()
+     */
+    default long epochDay(int year) {
+        final Optional<Event> event = apply(year);
+        return event.isPresent() ? event.get().date().toEpochDay() : NONE;
+    }
+
+    /**
+     * Bulk form of {@link #epochDay(int)} for consecutive years.
+     *
+     * @param firstYear the year for the first element.
+     * @param days      receives the epoch day of the event for each year, or {@link #NONE}.
+     */
+    default void epochDays(int firstYear, long[] days) {
+        for (int i = 0; i < days.length; i++) {
+            days[i] = epochDay(firstYear + i);
+        }
+    }
+
+    /**
+     * Bulk form of {@link #epochDay(int)} for any years, such as a column of years to be annotated.
+     *
+     * @param years the years to generate the event for.
+     * @param days  receives the epoch day of the event for each year, or {@link #NONE}. Must be at least as long as
+     *              the years.
+     */
+    default void epochDays(int[] years, long[] days) {
+        for (int i = 0; i < years.length; i++) {
+            days[i] = epochDay(years[i]);
+        }
+    }
+
+    /**
+     * The months in which the event may fall, used to skip rules that cannot fall within a range of dates. A mask
+     * other than {@link #ALL_MONTHS} promises that the event always falls in the year it is generated for.
+     *
+     * @return bit mask of the months, with the lowest bit for January.
+     */
+    default int months() {
+        return ALL_MONTHS;
+    }
+
+    /**
+     * Modify the event generated each year.
+     *
+     * @param modifier generator for an alternate event, such as one of the {@link Observances}.
+     * @return the modified event, or the original event if the modifier returns empty.
+     */
     default Yearly with(final Function<Event, Optional<Event>> modifier) {
-        return new Yearly() {
-
-            /**
-             * Delegates to the {@link #compute(int)} method of the enclosing instance.
-             * @param year {@inheritDoc}
-             * @return {@inheritDoc}
-             */
-            @Override
-            public LocalDate compute(int year) {
-                return Yearly.this.compute(year);
-            }
-
-            /**
-             * Returns the modified event, or the original event if the modifier returns empty.
-             * @param year {@inheritDoc}
-             * @return {@inheritDoc}
-             */
-            @Override
-            public Optional<Event> apply(int year) {
-                final Optional<Event> original = Yearly.this.apply(year);
-                if (original.isPresent()) {
-                    final Optional<Event> modified = modifier.apply(original.get());
-                    return modified.isPresent() ? modified : original;
-                } else {
-                    return Optional.empty();
-                }
-            }
-        };
+        return new Modified(this, modifier);
     }
 }
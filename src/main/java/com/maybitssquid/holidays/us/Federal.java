@@ -5,7 +5,9 @@ import com.maybitssquid.holidays.*;
 import java.time.DayOfWeek;
 import java.time.LocalDate;
 import java.time.Month;
-import java.util.function.Function;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
 import java.util.stream.IntStream;
 import java.util.stream.Stream;
 
@@ -48,21 +50,55 @@ public class Federal implements Events {
     public static final Yearly CHRISTMAS_DAY =
             new Anniversary(US.CHRISTMAS_DAY, ORIGINAL);
 
-    private Function<IntStream, Stream<Event>> generator = Holidays.generator(
-            NEW_YEARS_DAY,
-            WASHINGTONS_BIRTHDAY,
-            MEMORIAL_DAY,
-            JUNETEENTH,
-            INDEPENDENCE_DAY,
-            LABOR_DAY,
-            COLUMBUS_DAY,
-            VETERANS_DAY,
-            THANKSGIVING_DAY,
-            CHRISTMAS_DAY);
+    /**
+     * The rules in order, by the name they are reported as when measured.
+     */
+    private static final Map<String, Yearly> RULES = rules();
+
+    private final Events generator;
+
+    public Federal() {
+        this(GenerationListener.NONE);
+    }
+
+    /**
+     * Federal holidays with each rule and year measured, with rules reported by name such as
+     * {@code Federal.THANKSGIVING_DAY}.
+     *
+     * @param listener receives the measurements.
+     */
+    public Federal(final GenerationListener listener) {
+        this.generator = Instrumentation.generator(listener, RULES);
+    }
+
+    private static Map<String, Yearly> rules() {
+        final Map<String, Yearly> rules = new LinkedHashMap<>();
+        rules.put("Federal.NEW_YEARS_DAY", NEW_YEARS_DAY);
+        rules.put("Federal.WASHINGTONS_BIRTHDAY", WASHINGTONS_BIRTHDAY);
+        rules.put("Federal.MEMORIAL_DAY", MEMORIAL_DAY);
+        rules.put("Federal.JUNETEENTH", JUNETEENTH);
+        rules.put("Federal.INDEPENDENCE_DAY", INDEPENDENCE_DAY);
+        rules.put("Federal.LABOR_DAY", LABOR_DAY);
+        rules.put("Federal.COLUMBUS_DAY", COLUMBUS_DAY);
+        rules.put("Federal.VETERANS_DAY", VETERANS_DAY);
+        rules.put("Federal.THANKSGIVING_DAY", THANKSGIVING_DAY);
+        rules.put("Federal.CHRISTMAS_DAY", CHRISTMAS_DAY);
+        return Collections.unmodifiableMap(rules);
+    }
 
     @Override
     public Stream<Event> apply(IntStream years) {
         return generator.apply(years);
     }
 
+    @Override
+    public Stream<Event> between(LocalDate from, LocalDate toExclusive) {
+        return generator.between(from, toExclusive);
+    }
+
+    @Override
+    public EventTable table(int year) {
+        return generator.table(year);
+    }
+
 }
@@ -0,0 +1,142 @@
+package com.maybitssquid.holidays;
+
+import com.maybitssquid.holidays.us.Federal;
+import org.testng.annotations.Test;
+
+import java.time.DateTimeException;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.util.EnumSet;
+import java.util.Random;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+import static org.testng.Assert.expectThrows;
+
+public class BusinessCalendarTest {
+    private static final int FIRST_YEAR = 2000;
+    private static final int LAST_YEAR = 2004;
+    private static final LocalDate FIRST = LocalDate.of(FIRST_YEAR, 1, 1);
+    private static final LocalDate LAST = LocalDate.of(LAST_YEAR, 12, 31);
+
+    /**
+     * Holidays for every day of the first quarter, so whole words of the bitmap have no business days.
+     */
+    private static final Function<IntStream, Stream<Event>> FIRST_QUARTER = years -> years.boxed()
+            .flatMap(y -> LocalDate.of(y, 1, 1).datesUntil(LocalDate.of(y, 4, 1)))
+            .map(date -> new Event(date, "Closed"));
+
+    /**
+     * Business days checked one day at a time.
+     */
+    private static final class Walk {
+        private final HolidayIndex holidays;
+        private final Set<DayOfWeek> weekend;
+
+        private Walk(final Function<IntStream, Stream<Event>> events, final Set<DayOfWeek> weekend) {
+            this.holidays = new HolidayIndex(events, FIRST_YEAR, LAST_YEAR);
+            this.weekend = weekend;
+        }
+
+        private boolean isBusinessDay(final LocalDate date) {
+            return !weekend.contains(date.getDayOfWeek()) && !holidays.isHoliday(date);
+        }
+
+        /**
+         * @return the date, or null if the walk leaves the range.
+         */
+        private LocalDate plus(final LocalDate date, final long days) {
+            LocalDate day = date;
+            for (long remaining = Math.abs(days); remaining > 0; ) {
+                day = day.plusDays(Long.signum(days));
+                if (day.isBefore(FIRST) || day.isAfter(LAST)) return null;
+                if (isBusinessDay(day)) remaining--;
+            }
+            return day;
+        }
+
+        private long between(final LocalDate from, final LocalDate toExclusive) {
+            long count = 0;
+            for (LocalDate day = from; day.isBefore(toExclusive); day = day.plusDays(1)) {
+                if (isBusinessDay(day)) count++;
+            }
+            for (LocalDate day = toExclusive; day.isBefore(from); day = day.plusDays(1)) {
+                if (isBusinessDay(day)) count--;
+            }
+            return count;
+        }
+    }
+
+    private static void assertSameAsWalk(final Function<IntStream, Stream<Event>> events,
+                                         final Set<DayOfWeek> weekend) {
+        final BusinessCalendar calendar = new BusinessCalendar(events, weekend, FIRST_YEAR, LAST_YEAR);
+        final Walk walk = new Walk(events, weekend);
+        for (LocalDate day = FIRST; !day.isAfter(LAST); day = day.plusDays(1)) {
+            assertEquals(calendar.isBusinessDay(day), walk.isBusinessDay(day), day.toString());
+        }
+        final Random random = new Random(1);
+        final int span = (int) (LAST.toEpochDay() - FIRST.toEpochDay()) + 1;
+        for (int i = 0; i < 5000; i++) {
+            final LocalDate date = FIRST.plusDays(random.nextInt(span));
+            final long days = i < 100 ? i - 50 : random.nextInt(1401) - 700;
+            final LocalDate expected = days == 0 ? date : walk.plus(date, days);
+            if (expected == null) {
+                expectThrows(DateTimeException.class, () -> calendar.plusBusinessDays(date, days));
+            } else {
+                assertEquals(calendar.plusBusinessDays(date, days), expected, date + " plus " + days);
+                assertEquals(calendar.minusBusinessDays(date, -days), expected, date + " minus " + -days);
+            }
+
+            final LocalDate other = FIRST.plusDays(random.nextInt(span + 1));
+            assertEquals(calendar.businessDaysBetween(date, other), walk.between(date, other), date + " to " + other);
+        }
+    }
+
+    @Test
+    public void matchesADayByDayWalk() {
+        assertSameAsWalk(new Federal(), BusinessCalendar.SATURDAY_SUNDAY);
+    }
+
+    @Test
+    public void otherWeekends() {
+        assertSameAsWalk(new Federal(), EnumSet.of(DayOfWeek.FRIDAY, DayOfWeek.SATURDAY));
+        assertSameAsWalk(new Federal(), EnumSet.noneOf(DayOfWeek.class));
+    }
+
+    @Test
+    public void wordsWithoutBusinessDays() {
+        assertSameAsWalk(FIRST_QUARTER, BusinessCalendar.SATURDAY_SUNDAY);
+        final BusinessCalendar calendar = new BusinessCalendar(FIRST_QUARTER, FIRST_YEAR, LAST_YEAR);
+        assertEquals(calendar.nextBusinessDay(LocalDate.of(2001, 12, 31)), LocalDate.of(2002, 4, 1));
+        assertEquals(calendar.minusBusinessDays(LocalDate.of(2002, 4, 1), 1), LocalDate.of(2001, 12, 31));
+        assertEquals(calendar.businessDaysBetween(LocalDate.of(2002, 1, 1), LocalDate.of(2002, 4, 1)), 0L);
+    }
+
+    @Test
+    public void rangeBoundaries() {
+        final BusinessCalendar calendar = new BusinessCalendar(new Federal(), FIRST_YEAR, LAST_YEAR);
+        final Walk walk = new Walk(new Federal(), BusinessCalendar.SATURDAY_SUNDAY);
+        final LocalDate end = LAST.plusDays(1);
+        assertEquals(calendar.businessDaysBetween(FIRST, end), walk.between(FIRST, end));
+        assertEquals(calendar.businessDaysBetween(LAST, FIRST), -walk.between(FIRST, LAST));
+        assertEquals(calendar.businessDaysBetween(LAST, end), walk.isBusinessDay(LAST) ? 1L : 0L);
+        assertFalse(calendar.isBusinessDay(FIRST));
+        assertTrue(calendar.isBusinessDay(LocalDate.of(2004, 12, 30)));
+        assertEquals(calendar.plusBusinessDays(FIRST, 0), FIRST);
+
+        expectThrows(DateTimeException.class, () -> calendar.isBusinessDay(FIRST.minusDays(1)));
+        expectThrows(DateTimeException.class, () -> calendar.isBusinessDay(end));
+        expectThrows(DateTimeException.class, () -> calendar.plusBusinessDays(FIRST.minusDays(1), 1));
+        expectThrows(DateTimeException.class, () -> calendar.plusBusinessDays(end, -1));
+        expectThrows(DateTimeException.class, () -> calendar.plusBusinessDays(LAST, 1));
+        expectThrows(DateTimeException.class, () -> calendar.plusBusinessDays(FIRST, -1));
+        expectThrows(DateTimeException.class, () -> calendar.businessDaysBetween(FIRST.minusDays(1), LAST));
+        expectThrows(DateTimeException.class, () -> calendar.businessDaysBetween(FIRST, end.plusDays(1)));
+        expectThrows(DateTimeException.class, () -> calendar.businessDaysBetween(end, LAST));
+    }
+}
@@ -0,0 +1,55 @@
+package com.maybitssquid.holidays;
+
+import com.maybitssquid.holidays.us.Federal;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.time.LocalDate;
+import java.time.Month;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+
+public class CalendarFileTest {
+    private static final Events NEW_YEARS_DAY = Holidays.generator(new EveryYear("New Year's Day", Month.JANUARY, 1)
+            .with(Observances.weekendToWeekday(Observances.OBSERVED_ANNOTATION)));
+
+    @Test
+    public void matchesTheGeneratedEvents() throws IOException {
+        final Events federal = new Federal();
+        final CalendarFile file = new CalendarFile(CalendarFile.encode(federal, 1990, 2030));
+        assertEquals(file.getFirstYear(), 1990);
+        assertEquals(file.getLastYear(), 2030);
+        for (int year = 1990; year <= 2030; year++) {
+            assertEquals(file.apply(IntStream.of(year)).toList(),
+                    federal.between(LocalDate.of(year, 1, 1), LocalDate.of(year + 1, 1, 1)).toList(),
+                    "Events in " + year);
+        }
+        assertEquals(file.size(), (int) file.apply(IntStream.rangeClosed(1990, 2030)).count());
+    }
+
+    @Test
+    public void observedHolidaysCrossYears() throws IOException {
+        final CalendarFile file = new CalendarFile(CalendarFile.encode(NEW_YEARS_DAY, 2020, 2021));
+        final HolidayIndex index = new HolidayIndex(NEW_YEARS_DAY, 2020, 2021);
+        for (LocalDate date = LocalDate.of(2020, 1, 1); date.getYear() <= 2021; date = date.plusDays(1)) {
+            assertEquals(file.isHoliday(date), index.isHoliday(date), date.toString());
+        }
+        // New Year's Day 2022 falls on a Saturday, so is observed on the last day of 2021
+        assertTrue(file.isHoliday(LocalDate.of(2021, 12, 31)));
+        assertEquals(file.apply(IntStream.of(2021)).toList(), List.of(
+                new Event(LocalDate.of(2021, 1, 1), "New Year's Day"),
+                new Event(LocalDate.of(2021, 12, 31), "New Year's Day (Observed)")));
+    }
+
+    @Test
+    public void eventsOutsideTheYearsAreDropped() throws IOException {
+        // Generated for 2022 but observed in 2021, while 2023 is observed on January 2nd
+        final CalendarFile file = new CalendarFile(CalendarFile.encode(NEW_YEARS_DAY, 2022, 2022));
+        assertEquals(file.size(), 0);
+        assertFalse(file.isHoliday(LocalDate.of(2021, 12, 31)));
+    }
+}
@@ -0,0 +1,84 @@
+package com.maybitssquid.holidays;
+
+import org.testng.annotations.Test;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.Year;
+import java.time.temporal.TemporalAdjusters;
+import java.util.stream.IntStream;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+
+public class DatesTest {
+    /**
+     * Years either side of the proleptic year zero, of a century that is not a leap year and of the supported range.
+     */
+    private static final int[] YEARS = IntStream.concat(IntStream.concat(
+                    IntStream.rangeClosed(-1000, 1000),
+                    IntStream.rangeClosed(2090, 2110)),
+            IntStream.concat(
+                    IntStream.rangeClosed(Year.MIN_VALUE, Year.MIN_VALUE + 20),
+                    IntStream.rangeClosed(Year.MAX_VALUE - 20, Year.MAX_VALUE))).toArray();
+
+    @Test
+    public void epochDaysMatchLocalDate() {
+        for (int year : YEARS) {
+            assertEquals(Dates.isLeap(year), Year.isLeap(year), "Leap " + year);
+            for (int month = 1; month <= 12; month++) {
+                final int length = LocalDate.of(year, month, 1).lengthOfMonth();
+                assertEquals(Dates.lengthOfMonth(year, month), length);
+                for (int dayOfMonth = 1; dayOfMonth <= length; dayOfMonth++) {
+                    final LocalDate date = LocalDate.of(year, month, dayOfMonth);
+                    final long epochDay = date.toEpochDay();
+                    assertEquals(Dates.epochDay(year, month, dayOfMonth), epochDay, date.toString());
+
+                    final long civil = Dates.civil(epochDay);
+                    assertEquals(Dates.year(civil), year, date.toString());
+                    assertEquals(Dates.month(civil), month, date.toString());
+                    assertEquals(Dates.dayOfMonth(civil), dayOfMonth, date.toString());
+                    assertEquals(Dates.dayOfWeek(epochDay), date.getDayOfWeek().getValue(), date.toString());
+                }
+            }
+            assertEquals(Dates.anniversary(year, 2, 29), LocalDate.of(2000, 2, 29).withYear(year).toEpochDay());
+        }
+    }
+
+    @Test
+    public void supportedRange() {
+        assertTrue(Dates.isValidYear(Year.MIN_VALUE));
+        assertTrue(Dates.isValidYear(Year.MAX_VALUE));
+        assertFalse(Dates.isValidYear(Year.MIN_VALUE - 1L));
+        assertFalse(Dates.isValidYear(Year.MAX_VALUE + 1L));
+        assertTrue(Dates.isValidEpochDay(LocalDate.MIN.toEpochDay()));
+        assertTrue(Dates.isValidEpochDay(LocalDate.MAX.toEpochDay()));
+        assertFalse(Dates.isValidEpochDay(LocalDate.MIN.toEpochDay() - 1L));
+        assertFalse(Dates.isValidEpochDay(LocalDate.MAX.toEpochDay() + 1L));
+        assertEquals(LocalDate.ofEpochDay(Dates.epochDay(Year.MAX_VALUE, 12, 31)), LocalDate.MAX);
+        assertEquals(LocalDate.ofEpochDay(Dates.epochDay(Year.MIN_VALUE, 1, 1)), LocalDate.MIN);
+    }
+
+    @Test
+    public void dayOfWeekInMonthMatchesTemporalAdjusters() {
+        // Years away from the ends of the range, so that ordinals past the month stay within it
+        final int[] years = IntStream.of(YEARS).filter(y -> Math.abs(y) < Year.MAX_VALUE).toArray();
+        final long[] days = new long[years.length];
+        for (int month = 1; month <= 12; month++) {
+            for (int ordinal = -5; ordinal <= 5; ordinal++) {
+                for (DayOfWeek dayOfWeek : DayOfWeek.values()) {
+                    Dates.dayOfWeekInMonth(years, month, ordinal, dayOfWeek.getValue(), days);
+                    for (int i = 0; i < years.length; i++) {
+                        final long expected = LocalDate.of(years[i], month, 1)
+                                .with(TemporalAdjusters.dayOfWeekInMonth(ordinal, dayOfWeek)).toEpochDay();
+                        final String message = ordinal + " " + dayOfWeek + " " + years[i] + "-" + month;
+                        assertEquals(Dates.dayOfWeekInMonth(years[i], month, ordinal, dayOfWeek.getValue()),
+                                expected, message);
+                        assertEquals(days[i], expected, message);
+                    }
+                }
+            }
+        }
+    }
+}
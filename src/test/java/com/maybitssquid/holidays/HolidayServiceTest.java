@@ -0,0 +1,128 @@
+package com.maybitssquid.holidays;
+
+import com.maybitssquid.holidays.us.Federal;
+import org.testng.annotations.Test;
+
+import java.time.LocalDate;
+import java.time.Month;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertSame;
+import static org.testng.Assert.assertTrue;
+import static org.testng.Assert.expectThrows;
+
+public class HolidayServiceTest {
+    private static final int CALLERS = 32;
+
+    /**
+     * Events that count each generation and hold it until released.
+     */
+    private static final class Held implements Events {
+        private final Events events = new Federal();
+        private final AtomicInteger generated = new AtomicInteger();
+        private final CountDownLatch started = new CountDownLatch(1);
+        private final CountDownLatch released = new CountDownLatch(1);
+
+        @Override
+        public Stream<Event> apply(final IntStream years) {
+            generated.incrementAndGet();
+            started.countDown();
+            try {
+                assertTrue(released.await(10, TimeUnit.SECONDS), "Generation was never released");
+            } catch (InterruptedException e) {
+                throw new AssertionError(e);
+            }
+            return events.apply(years);
+        }
+    }
+
+    private static void awaitShared(final HolidayService service, final long shared) throws InterruptedException {
+        final long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (service.getShared() < shared) {
+            assertTrue(System.nanoTime() < deadline, "Callers never shared the generation");
+            Thread.sleep(1);
+        }
+    }
+
+    @Test
+    public void concurrentCallersShareOneGeneration() throws Exception {
+        final Held events = new Held();
+        final HolidayService service = new HolidayService(events);
+        final ExecutorService callers = Executors.newFixedThreadPool(CALLERS);
+        try {
+            final List<Future<EventTable>> tables = new ArrayList<>();
+            tables.add(callers.submit(() -> service.table(2024)));
+            assertTrue(events.started.await(10, TimeUnit.SECONDS), "Generation never started");
+            for (int i = 1; i < CALLERS; i++) {
+                tables.add(callers.submit(() -> service.table(2024)));
+            }
+            final CompletableFuture<EventTable> async = service.tableAsync(2024);
+            awaitShared(service, CALLERS);
+            events.released.countDown();
+
+            final EventTable first = tables.get(0).get(10, TimeUnit.SECONDS);
+            for (Future<EventTable> table : tables) {
+                assertSame(table.get(10, TimeUnit.SECONDS), first);
+            }
+            assertSame(async.get(10, TimeUnit.SECONDS), first);
+            assertEquals(events.generated.get(), 1);
+            assertEquals(service.getGenerations(), 1L);
+            assertEquals(service.getShared(), (long) CALLERS);
+            assertEquals(first.toArray(), new Federal().between(LocalDate.of(2024, 1, 1), LocalDate.of(2025, 1, 1))
+                    .toArray(Event[]::new));
+        } finally {
+            callers.shutdownNow();
+        }
+    }
+
+    @Test
+    public void asynchronousRequestsOverTheLimitAreRejected() throws Exception {
+        final Held events = new Held();
+        final ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            final HolidayService service = new HolidayService(events, 1, executor);
+            final CompletableFuture<EventTable> running = service.tableAsync(2024);
+            assertTrue(events.started.await(10, TimeUnit.SECONDS), "Generation never started");
+
+            final CompletableFuture<EventTable> rejected = service.tableAsync(2025);
+            expectThrows(RejectedExecutionException.class, () -> {
+                try {
+                    rejected.join();
+                } catch (CompletionException e) {
+                    throw e.getCause();
+                }
+            });
+            assertEquals(service.getRejected(), 1L);
+
+            events.released.countDown();
+            running.get(10, TimeUnit.SECONDS);
+            assertTrue(service.table(2025).contains(LocalDate.of(2025, 12, 25)));
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void observedHolidaysCrossYears() {
+        final HolidayService service = new HolidayService(Holidays.generator(
+                new EveryYear("New Year's Day", Month.JANUARY, 1)
+                        .with(Observances.weekendToWeekday(Observances.OBSERVED_ANNOTATION))));
+        assertTrue(service.isHoliday(LocalDate.of(2021, 12, 31)));
+        assertFalse(service.isHoliday(LocalDate.of(2022, 1, 1)));
+        assertTrue(service.isHoliday(LocalDate.of(2023, 1, 2)));
+    }
+}
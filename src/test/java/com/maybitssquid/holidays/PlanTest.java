@@ -0,0 +1,137 @@
+package com.maybitssquid.holidays;
+
+import com.maybitssquid.holidays.us.Federal;
+import org.testng.annotations.Test;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.Month;
+import java.time.Year;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.IntStream;
+
+import static org.testng.Assert.assertEquals;
+
+public class PlanTest {
+    private static final int FIRST_YEAR = 1700;
+    private static final int LAST_YEAR = 2200;
+
+    private static void assertSameAsGenerator(final Yearly... rules) {
+        final Events generator = Holidays.generator(rules);
+        final Plan plan = Plan.compile(rules);
+        final List<Event> expected = generator.apply(IntStream.rangeClosed(FIRST_YEAR, LAST_YEAR)).toList();
+        assertEquals(plan.apply(IntStream.rangeClosed(FIRST_YEAR, LAST_YEAR)).toList(), expected);
+
+        final long[] days = new long[plan.size()];
+        final String[] names = new String[plan.size()];
+        for (int year = FIRST_YEAR; year <= LAST_YEAR; year++) {
+            final Event[] events = generator.apply(IntStream.of(year)).toArray(Event[]::new);
+            assertEquals(plan.evaluate(year, days, names), events.length, "Events in " + year);
+            for (int i = 0; i < events.length; i++) {
+                assertEquals(days[i], events[i].date().toEpochDay(), "Day in " + year);
+                assertEquals(names[i], events[i].name(), "Name in " + year);
+            }
+            assertEquals(plan.table(year).toArray(), events, "Table for " + year);
+            assertEquals(generator.table(year).toArray(), events, "Generator table for " + year);
+        }
+    }
+
+    @Test
+    public void federal() {
+        assertSameAsGenerator(
+                Federal.NEW_YEARS_DAY,
+                Federal.WASHINGTONS_BIRTHDAY,
+                Federal.MEMORIAL_DAY,
+                Federal.JUNETEENTH,
+                Federal.INDEPENDENCE_DAY,
+                Federal.LABOR_DAY,
+                Federal.COLUMBUS_DAY,
+                Federal.VETERANS_DAY,
+                Federal.THANKSGIVING_DAY,
+                Federal.CHRISTMAS_DAY);
+    }
+
+    @Test
+    public void observances() {
+        assertSameAsGenerator(
+                Federal.NEW_YEARS_DAY.with(Observances.weekendToWeekday(Observances.OBSERVED_ANNOTATION)),
+                Federal.JUNETEENTH.with(Observances.saturdayToFriday(Observances.OBSERVED_ANNOTATION)),
+                Federal.INDEPENDENCE_DAY.with(Observances.sundayToMonday(Observances.OBSERVED_ANNOTATION)),
+                Federal.THANKSGIVING_DAY.with(Observances.related("Day after Thanksgiving", 1L)),
+                Federal.CHRISTMAS_DAY
+                        .with(Observances.nthWeekday(LocalDate.of(2000, 1, 1), 1, DayOfWeek.MONDAY))
+                        .with(Observances.weekendToWeekday(Observances.OBSERVED_ANNOTATION)),
+                new EveryYear("Halloween", Month.OCTOBER, 31)
+                        .with(Observances.observedSince(LocalDate.of(1900, 1, 1))));
+    }
+
+    @Test
+    public void easter() {
+        assertSameAsGenerator(
+                new Easter("Easter Sunday", 0L).with(Observances.sundayToMonday(Observances.OBSERVED_ANNOTATION)),
+                new Easter("Good Friday", -2L),
+                new Easter("Easter Monday", 1L)
+                        .with(Observances.weekendToWeekday(Observances.OBSERVED_ANNOTATION)),
+                new Easter("Orthodox Easter", Easter.Computus.JULIAN, 0L)
+                        .with(Observances.related("Orthodox Easter Monday", 1L)),
+                new Easter("Ascension Day", Easter.Computus.GREGORIAN, 39L, LocalDate.of(1900, 1, 1), null));
+
+        // The earliest and latest possible dates, and dates published for recent years
+        for (LocalDate sunday : List.of(LocalDate.of(1818, 3, 22), LocalDate.of(2285, 3, 22),
+                LocalDate.of(1943, 4, 25), LocalDate.of(2024, 3, 31))) {
+            assertEquals(new Easter("Easter Sunday", 0L).apply(sunday.getYear()),
+                    Optional.of(new Event(sunday, "Easter Sunday")));
+            assertEquals(Easter.Computus.GREGORIAN.epochDay(sunday.getYear()), sunday.toEpochDay());
+        }
+        for (LocalDate sunday : List.of(LocalDate.of(2024, 5, 5), LocalDate.of(2025, 4, 20),
+                LocalDate.of(2023, 4, 16))) {
+            assertEquals(new Easter("Orthodox Easter", Easter.Computus.JULIAN, 0L).apply(sunday.getYear()),
+                    Optional.of(new Event(sunday, "Orthodox Easter")));
+            assertEquals(Easter.Computus.JULIAN.epochDay(sunday.getYear()), sunday.toEpochDay());
+        }
+        assertEquals(new Easter("Good Friday", -2L).apply(2024),
+                Optional.of(new Event(LocalDate.of(2024, 3, 29), "Good Friday")));
+    }
+
+    @Test
+    public void opaqueRules() {
+        assertSameAsGenerator(
+                Federal.CHRISTMAS_DAY,
+                Instrumentation.rule("Veterans", Federal.VETERANS_DAY, new GenerationListener() {
+                }),
+                Federal.CHRISTMAS_DAY.with(e -> Optional.of(new Event(e.date().plusDays(1), "Boxing Day"))));
+    }
+
+    @Test
+    public void overriddenCompute() {
+        final Anniversary shifted = new Anniversary(new Event(LocalDate.of(2000, 5, 1), "Shifted")) {
+            @Override
+            public LocalDate compute(final int year) {
+                return super.compute(year).plusDays(10);
+            }
+        };
+        assertEquals(shifted.apply(2024), Optional.of(new Event(LocalDate.of(2024, 5, 11), "Shifted")));
+        assertEquals(shifted.epochDay(2024), LocalDate.of(2024, 5, 11).toEpochDay());
+        assertEquals(shifted.months(), Yearly.ALL_MONTHS);
+        assertSameAsGenerator(shifted);
+    }
+
+    @Test
+    public void datesOutOfRange() {
+        final Yearly fifthSunday = new Floating(new Event(LocalDate.of(2000, 12, 1), "Fifth Sunday"),
+                5, DayOfWeek.SUNDAY);
+        final Yearly dayAfter = new EveryYear("New Year's Eve", Month.DECEMBER, 31)
+                .with(Observances.related("Day after", 1L));
+        assertEquals(fifthSunday.apply(Year.MAX_VALUE), Optional.empty());
+        assertEquals(fifthSunday.epochDay(Year.MAX_VALUE), Yearly.NONE);
+        assertEquals(dayAfter.apply(Year.MAX_VALUE), Optional.empty());
+        assertEquals(dayAfter.epochDay(Year.MAX_VALUE), Yearly.NONE);
+
+        final Events generator = Holidays.generator(fifthSunday, dayAfter);
+        final Plan plan = Plan.compile(fifthSunday, dayAfter);
+        assertEquals(plan.apply(IntStream.rangeClosed(Year.MAX_VALUE - 30, Year.MAX_VALUE)).toList(),
+                generator.apply(IntStream.rangeClosed(Year.MAX_VALUE - 30, Year.MAX_VALUE)).toList());
+        assertEquals(plan.events(Year.MAX_VALUE).length, 0);
+    }
+}
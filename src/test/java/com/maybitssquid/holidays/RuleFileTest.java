@@ -0,0 +1,135 @@
+package com.maybitssquid.holidays;
+
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.expectThrows;
+
+public class RuleFileTest {
+    private static final String EXAMPLES = String.join("\n",
+            "# Blank lines and lines starting with # are ignored",
+            "",
+            "New Year's Day = January 1; from 1870-06-28; observed weekend",
+            "Memorial Day = -1 Monday May",
+            "Washington's Birthday = 3 Monday February; from 1879-02-22",
+            "Christmas Day = December 25",
+            "Boxing Day = +1 Christmas Day; observed weekend",
+            "Easter Sunday = Easter",
+            "Good Friday = -2 Easter Sunday");
+
+    private static Yearly[] parse(final String... lines) throws IOException {
+        return RuleFile.parse(new StringReader(String.join("\n", lines)));
+    }
+
+    private static List<Event> events(final Yearly[] rules, final int year) {
+        return Holidays.generator(rules).apply(IntStream.of(year)).toList();
+    }
+
+    private static void assertSameAsPlan(final Yearly[] rules) {
+        final IntStream years = IntStream.rangeClosed(1800, 2200);
+        assertEquals(Plan.compile(rules).apply(IntStream.rangeClosed(1800, 2200)).toList(),
+                Holidays.generator(rules).apply(years).toList());
+    }
+
+    private static void assertRejected(final String line, final String message) {
+        final IOException e = expectThrows(IOException.class, () -> parse("Valid = June 1", line));
+        assertEquals(e.getMessage(), "Line 2: " + message);
+    }
+
+    @Test
+    public void documentedExamples() throws IOException {
+        final Yearly[] rules = RuleFile.parse(new StringReader(EXAMPLES));
+        assertEquals(rules.length, 7);
+        assertEquals(events(rules, 2021), List.of(
+                new Event(LocalDate.of(2021, 1, 1), "New Year's Day"),
+                new Event(LocalDate.of(2021, 2, 15), "Washington's Birthday"),
+                new Event(LocalDate.of(2021, 4, 2), "Good Friday"),
+                new Event(LocalDate.of(2021, 4, 4), "Easter Sunday"),
+                new Event(LocalDate.of(2021, 5, 31), "Memorial Day"),
+                new Event(LocalDate.of(2021, 12, 25), "Christmas Day"),
+                new Event(LocalDate.of(2021, 12, 27), "Boxing Day (Observed)")));
+        assertEquals(events(rules, 2022).get(0), new Event(LocalDate.of(2021, 12, 31), "New Year's Day (Observed)"));
+        assertEquals(events(rules, 2024).subList(2, 4), List.of(
+                new Event(LocalDate.of(2024, 3, 29), "Good Friday"),
+                new Event(LocalDate.of(2024, 3, 31), "Easter Sunday")));
+        // Neither New Year's Day nor Washington's Birthday is observed yet
+        assertEquals(events(rules, 1870).stream().map(Event::name).toList(),
+                List.of("Good Friday", "Easter Sunday", "Memorial Day", "Christmas Day", "Boxing Day"));
+        assertSameAsPlan(rules);
+    }
+
+    @Test
+    public void chainedOffsets() throws IOException {
+        final Yearly[] rules = parse(
+                "Christmas Day = December 25",
+                "Boxing Day = +1 Christmas Day",
+                "Day After Boxing = +1 Boxing Day; observed weekend",
+                "Easter Sunday = Easter",
+                "Good Friday = -2 Easter Sunday",
+                "Maundy Thursday = -1 Good Friday",
+                "Orthodox Easter = Julian Easter",
+                "Orthodox Monday = +1 Orthodox Easter",
+                "Thanksgiving = 4 Thursday November",
+                "Black Friday = +1 Thanksgiving",
+                "Cyber Monday = +3 Black Friday");
+        assertEquals(events(rules, 2024), List.of(
+                new Event(LocalDate.of(2024, 3, 28), "Maundy Thursday"),
+                new Event(LocalDate.of(2024, 3, 29), "Good Friday"),
+                new Event(LocalDate.of(2024, 3, 31), "Easter Sunday"),
+                new Event(LocalDate.of(2024, 5, 5), "Orthodox Easter"),
+                new Event(LocalDate.of(2024, 5, 6), "Orthodox Monday"),
+                new Event(LocalDate.of(2024, 11, 28), "Thanksgiving"),
+                new Event(LocalDate.of(2024, 11, 29), "Black Friday"),
+                new Event(LocalDate.of(2024, 12, 2), "Cyber Monday"),
+                new Event(LocalDate.of(2024, 12, 25), "Christmas Day"),
+                new Event(LocalDate.of(2024, 12, 26), "Boxing Day"),
+                new Event(LocalDate.of(2024, 12, 27), "Day After Boxing")));
+        assertSameAsPlan(rules);
+    }
+
+    @Test
+    public void offsetRulesKeepTheBoundsOfTheirBase() throws IOException {
+        final Yearly[] rules = parse(
+                "A = March 1; until 2000-01-01",
+                "B = +1 A",
+                "C = +1 B; from 1990-03-03",
+                "Easter Sunday = Easter; from 2000-01-01",
+                "Good Friday = -2 Easter Sunday",
+                "Holy Saturday = +1 Good Friday; until 2010-01-01");
+        assertEquals(events(rules, 1989), List.of(
+                new Event(LocalDate.of(1989, 3, 1), "A"),
+                new Event(LocalDate.of(1989, 3, 2), "B")));
+        assertEquals(events(rules, 1999).size(), 3);
+        assertEquals(events(rules, 2001), List.of(
+                new Event(LocalDate.of(2001, 4, 13), "Good Friday"),
+                new Event(LocalDate.of(2001, 4, 14), "Holy Saturday"),
+                new Event(LocalDate.of(2001, 4, 15), "Easter Sunday")));
+        assertEquals(events(rules, 2010), List.of(
+                new Event(LocalDate.of(2010, 4, 2), "Good Friday"),
+                new Event(LocalDate.of(2010, 4, 4), "Easter Sunday")));
+        assertSameAsPlan(rules);
+    }
+
+    @Test
+    public void rejectsInvalidRules() {
+        assertRejected("June 2", "Missing = after rule name");
+        assertRejected(" = June 2", "Missing rule name");
+        assertRejected("Valid = June 2", "Duplicate rule Valid");
+        assertRejected("Other = June 2; every year", "Unknown modifier every");
+        assertRejected("Other = June 2; from", "Unknown modifier from");
+        assertRejected("Other = June 2; observed monday", "Unknown observance monday");
+        assertRejected("Other = +1 Missing", "Unknown rule Missing");
+        assertRejected("Other = Midsummer", "Unknown date Midsummer");
+        assertRejected("Other = 0 Monday May", "Ordinal must be 1 to 5, or -1 to -5 from the end of the month");
+        assertRejected("Other = 6 Monday May", "Ordinal must be 1 to 5, or -1 to -5 from the end of the month");
+        assertRejected("Other = -6 Monday May", "Ordinal must be 1 to 5, or -1 to -5 from the end of the month");
+        expectThrows(IOException.class, () -> parse("Other = June 31"));
+        expectThrows(IOException.class, () -> parse("Other = June 2; from 2000-13-01"));
+    }
+}
@@ -0,0 +1,165 @@
+package com.maybitssquid.holidays;
+
+import com.maybitssquid.holidays.us.Federal;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.time.Month;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.IntStream;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+import static org.testng.Assert.expectThrows;
+
+public class SharedCalendarTest {
+    private static final int FIRST_YEAR = 2000;
+    private static final int LAST_YEAR = 2030;
+    private static final int CAPACITY = 1 << 16;
+    private static final int READERS = 4;
+    private static final int PUBLICATIONS = 500;
+
+    private static final Events FEDERAL = new Federal();
+    private static final Events HALLOWEEN = Holidays.generator(new EveryYear("Halloween", Month.OCTOBER, 31));
+
+    private static List<Event> events(final Events events) {
+        return events.apply(IntStream.rangeClosed(FIRST_YEAR, LAST_YEAR)).toList();
+    }
+
+    @Test
+    public void readersSeePublishedSnapshots() throws IOException {
+        final Path path = Files.createTempFile("holidays", ".shared");
+        try (SharedCalendar publisher = SharedCalendar.create(path, CAPACITY);
+             SharedCalendar reader = SharedCalendar.open(path)) {
+            assertEquals(publisher.getSequence(), 0L);
+            assertFalse(reader.isHoliday(LocalDate.of(2024, 12, 25)));
+            assertEquals(events(reader.snapshot()), List.of());
+
+            publisher.publish(FEDERAL, FIRST_YEAR, LAST_YEAR);
+            assertEquals(reader.getSequence(), 2L);
+            assertTrue(reader.isHoliday(LocalDate.of(2024, 12, 25)));
+            assertFalse(reader.isHoliday(LocalDate.of(2024, 12, 24)));
+            final Events copy = reader.snapshot();
+            assertEquals(events(copy), events(FEDERAL));
+
+            publisher.publish(HALLOWEEN, FIRST_YEAR, LAST_YEAR);
+            assertEquals(reader.getSequence(), 4L);
+            assertFalse(reader.isHoliday(LocalDate.of(2024, 12, 25)));
+            assertTrue(reader.isHoliday(LocalDate.of(2024, 10, 31)));
+            assertEquals(events(reader.snapshot()), events(HALLOWEEN));
+            assertEquals(events(copy), events(FEDERAL));
+        } finally {
+            Files.delete(path);
+        }
+    }
+
+    @Test
+    public void readersNeverSeeTornSnapshots() throws Exception {
+        final Path path = Files.createTempFile("holidays", ".shared");
+        final List<Event> federal = events(FEDERAL);
+        final List<Event> halloween = events(HALLOWEEN);
+        final ExecutorService readers = Executors.newFixedThreadPool(READERS);
+        final AtomicBoolean publishing = new AtomicBoolean(true);
+        try (SharedCalendar publisher = SharedCalendar.create(path, CAPACITY);
+             SharedCalendar reader = SharedCalendar.open(path)) {
+            publisher.publish(FEDERAL, FIRST_YEAR, LAST_YEAR);
+            final Future<?>[] reads = new Future<?>[READERS];
+            for (int r = 0; r < READERS; r++) {
+                reads[r] = readers.submit(() -> {
+                    while (publishing.get()) {
+                        final List<Event> seen = events(reader.snapshot());
+                        assertTrue(seen.equals(federal) || seen.equals(halloween), "Torn snapshot " + seen);
+                        assertFalse(reader.isHoliday(LocalDate.of(2024, 12, 24)));
+                        reader.isHoliday(LocalDate.of(2024, 12, 25));
+                    }
+                    return null;
+                });
+            }
+            for (int i = 0; i < PUBLICATIONS; i++) {
+                publisher.publish(i % 2 == 0 ? HALLOWEEN : FEDERAL, FIRST_YEAR, LAST_YEAR);
+            }
+            publishing.set(false);
+            for (Future<?> read : reads) {
+                read.get(10, TimeUnit.SECONDS);
+            }
+            assertEquals(reader.getSequence(), 2L * (PUBLICATIONS + 1));
+        } finally {
+            readers.shutdownNow();
+            Files.delete(path);
+        }
+    }
+
+    @Test
+    public void publishersInOneProcessTakeTurns() throws Exception {
+        final Path path = Files.createTempFile("holidays", ".shared");
+        final ExecutorService publishers = Executors.newFixedThreadPool(READERS);
+        try (SharedCalendar first = SharedCalendar.create(path, CAPACITY);
+             SharedCalendar second = SharedCalendar.create(path, CAPACITY)) {
+            final Future<?>[] publications = new Future<?>[READERS];
+            for (int p = 0; p < READERS; p++) {
+                final SharedCalendar publisher = p % 2 == 0 ? first : second;
+                publications[p] = publishers.submit(() -> {
+                    // Small snapshots keep the publishers contending for the lock
+                    for (int i = 0; i < PUBLICATIONS; i++) {
+                        publisher.publish(i % 2 == 0 ? HALLOWEEN : FEDERAL, FIRST_YEAR, FIRST_YEAR);
+                    }
+                    return null;
+                });
+            }
+            for (Future<?> publication : publications) {
+                publication.get(10, TimeUnit.SECONDS);
+            }
+            assertEquals(first.getSequence(), 2L * PUBLICATIONS * READERS);
+            final List<Event> last = second.snapshot().apply(IntStream.of(FIRST_YEAR)).toList();
+            assertTrue(last.equals(FEDERAL.apply(IntStream.of(FIRST_YEAR)).toList())
+                    || last.equals(HALLOWEEN.apply(IntStream.of(FIRST_YEAR)).toList()), "Torn snapshot " + last);
+        } finally {
+            publishers.shutdownNow();
+            Files.delete(path);
+        }
+    }
+
+    @Test
+    public void readersFailWhenAPublisherStops() throws IOException {
+        final Path path = Files.createTempFile("holidays", ".shared");
+        try (SharedCalendar publisher = SharedCalendar.create(path, CAPACITY);
+             SharedCalendar reader = SharedCalendar.open(path)) {
+            publisher.publish(FEDERAL, FIRST_YEAR, LAST_YEAR);
+            try (FileChannel channel = FileChannel.open(path, StandardOpenOption.WRITE)) {
+                channel.write(ByteBuffer.allocate(Long.BYTES).putLong(0, 3L), 8);
+            }
+            expectThrows(IllegalStateException.class, () -> reader.isHoliday(LocalDate.of(2024, 12, 25)));
+            expectThrows(IllegalStateException.class, reader::snapshot);
+
+            publisher.publish(FEDERAL, FIRST_YEAR, LAST_YEAR);
+            assertEquals(reader.getSequence(), 4L);
+            assertTrue(reader.isHoliday(LocalDate.of(2024, 12, 25)));
+        } finally {
+            Files.delete(path);
+        }
+    }
+
+    @Test
+    public void rejectsOtherFiles() throws IOException {
+        final Path path = Files.createTempFile("holidays", ".shared");
+        try {
+            Files.write(path, new byte[64]);
+            expectThrows(IOException.class, () -> SharedCalendar.open(path));
+            expectThrows(IOException.class, () -> SharedCalendar.create(path, CAPACITY));
+        } finally {
+            Files.delete(path);
+        }
+    }
+}